@@ -0,0 +1,60 @@
+package com.example.userAdministrationApplication.benchmarks;
+
+import com.example.userAdministrationApplication.configurations.PasswordPolicyProperties;
+import com.example.userAdministrationApplication.services.PasswordPolicyServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks that run on every signup and every imported row, before any hashing.
+ * The number of configured domains should not change the cost of a check.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidationBenchmark {
+    @Param({ "SecurePass123!", "weakpassword", "Sh0rt!" })
+    private String password;
+
+    @Param({ "li.alush@example.com", "li.alush@test.com" })
+    private String email;
+
+    @Param({ "1", "10000" })
+    private int domainCount;
+
+    private PasswordPolicyServiceImpl passwordPolicyService;
+
+    @Setup
+    public void setUp() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        PasswordPolicyProperties.DomainRule exampleRule = new PasswordPolicyProperties.DomainRule();
+        exampleRule.setMinLength(12);
+        properties.getDomains().put("example.com", exampleRule);
+        for (int i = 1; i < domainCount; i++) {
+            PasswordPolicyProperties.DomainRule rule = new PasswordPolicyProperties.DomainRule();
+            rule.setMinLength(8 + i % 8);
+            properties.getDomains().put("tenant" + i + ".example.org", rule);
+        }
+        passwordPolicyService = new PasswordPolicyServiceImpl(properties);
+    }
+
+    @Benchmark
+    public Optional<String> validate() {
+        return passwordPolicyService.validate(email, password);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.userAdministrationApplication.benchmarks;
+
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.utils.ConvertorUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing one page of users, the CPU work left in a list request once the rows are read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserPageBenchmark {
+    @Param({ "10", "100", "1000" })
+    private int pageSize;
+
+    private List<UserEntity> entities;
+    private GetUsersResponse response;
+    // Configured like the mapper Spring Boot gives the controllers, including java.time support
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Setup
+    public void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 12, 10, 30);
+        entities = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserEntity entity = new UserEntity();
+            entity.setId((long) i);
+            entity.setFirstName("First" + i);
+            entity.setLastName("Last" + i);
+            entity.setEmail("user" + i + "@test.com");
+            entity.setPassword("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+            entity.setActive(i % 2 == 0);
+            entity.setCreatedAt(createdAt.plusSeconds(i));
+            entities.add(entity);
+        }
+        response = new GetUsersResponse(convertToUserDtos(), (long) pageSize * 10, 10, true);
+    }
+
+    @Benchmark
+    public List<UserDto> convertToUserDtos() {
+        return entities.stream()
+                .map(ConvertorUtil::convertToUserDto)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeGetUsersResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
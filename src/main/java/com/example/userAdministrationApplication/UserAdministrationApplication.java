@@ -2,12 +2,16 @@ package com.example.userAdministrationApplication;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.validation.annotation.Validated;
 
 @SpringBootApplication()
 @Validated
 @EnableRetry
+@EnableCaching
+@EnableScheduling
 public class UserAdministrationApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package com.example.userAdministrationApplication.aspects;
+
+import com.example.userAdministrationApplication.services.CircuitBreakerService;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes every {@code UserAdministrationRepository} call through the circuit breaker. Only data base failures count
+ * against it; constraint violations mean the data base answered and are recorded as successes.
+ */
+@Aspect
+@Component
+@AllArgsConstructor
+public class RepositoryCircuitBreakerAspect {
+    private final CircuitBreakerService circuitBreakerService;
+
+    @Around("execution(* com.example.userAdministrationApplication.repositories.UserAdministrationRepository.*(..))")
+    public Object guardRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        circuitBreakerService.acquirePermission();
+        try {
+            Object result = joinPoint.proceed();
+            circuitBreakerService.onSuccess();
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            circuitBreakerService.onSuccess();
+            throw e;
+        } catch (DataAccessException e) {
+            circuitBreakerService.onFailure();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            circuitBreakerService.onSuccess();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.cache")
+@Getter
+@Setter
+public class CacheProperties {
+    /**
+     * Maximum number of users kept in memory; beyond it Caffeine evicts by frequency and recency.
+     */
+    private long maximumSize = 10_000;
+    /**
+     * Time after which a cached user is reloaded, bounding staleness from writes made outside this service.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,41 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.circuit-breaker")
+@Getter
+@Setter
+public class CircuitBreakerProperties {
+    /**
+     * Number of most recent repository calls the failure rate is computed over.
+     */
+    private int windowSize = 20;
+    /**
+     * Calls that must be recorded in the window before the failure rate can open the breaker.
+     */
+    private int minimumCalls = 10;
+    /**
+     * Failure rate, between 0 and 1, at which the breaker opens.
+     */
+    private double failureRateThreshold = 0.5;
+    /**
+     * How long an open breaker rejects calls before letting trial calls through.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+    /**
+     * Trial calls allowed while half open; all of them must succeed to close the breaker again.
+     */
+    private int halfOpenCalls = 3;
+    /**
+     * Retry tokens earned per repository call, so retries stay below this share of the traffic.
+     */
+    private double retryBudgetRatio = 0.2;
+    /**
+     * Maximum retry tokens that can be saved up for a burst of failures.
+     */
+    private int retryBudgetMaxTokens = 10;
+}
@@ -0,0 +1,21 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.counters")
+@Getter
+@Setter
+public class CountersProperties {
+    /**
+     * Whether list totals come from the maintained counters; when disabled every total is a COUNT query.
+     */
+    private boolean enabled = true;
+    /**
+     * Interval at which the counters are compared with the table and corrected.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,16 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user-administration.data-version")
+@Getter
+@Setter
+public class DataVersionProperties {
+    /**
+     * Whether list responses carry an ETag. The version behind it only counts writes made through this instance, so
+     * disable it when several instances share the data base, or one could answer 304 for data another one changed.
+     */
+    private boolean enabled = true;
+}
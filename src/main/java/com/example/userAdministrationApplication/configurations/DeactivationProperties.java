@@ -0,0 +1,33 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.deactivation")
+@Getter
+@Setter
+public class DeactivationProperties {
+    /**
+     * Whether single deactivations are buffered and written in batches instead of one transaction each.
+     */
+    private boolean writeBehind = false;
+    /**
+     * Number of buffered deactivations that triggers a flush, and the most written by one UPDATE batch.
+     */
+    private int batchSize = 500;
+    /**
+     * Longest time a deactivation waits in the buffer when the batch size is not reached.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+    /**
+     * Buffered deactivations above which callers write their own deactivation synchronously.
+     */
+    private int maximumPending = 100000;
+    /**
+     * How long shutdown waits for a running flush before writing what is left.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user-administration.email-filter")
+@Getter
+@Setter
+public class EmailFilterProperties {
+    /**
+     * Number of emails the filter is sized for; it is rebuilt twice as large once the table outgrows it.
+     */
+    private long expectedInsertions = 100_000;
+    /**
+     * Probability that an unused email still has to be confirmed with a data base lookup.
+     */
+    private double falsePositiveProbability = 0.01;
+    /**
+     * Share of deleted users, relative to the emails in the filter, after which it is rebuilt to drop their bits.
+     */
+    private double rebuildDeletedRatio = 0.2;
+}
@@ -0,0 +1,18 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.export")
+@Getter
+@Setter
+public class ExportProperties {
+    /**
+     * How long one export may stream before it is cut off, instead of the container's default async timeout of
+     * about 30 seconds. Zero or negative means no limit.
+     */
+    private Duration timeout = Duration.ofHours(1);
+}
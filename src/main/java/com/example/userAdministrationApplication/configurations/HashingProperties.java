@@ -0,0 +1,41 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.hashing")
+@Getter
+@Setter
+public class HashingProperties {
+    /**
+     * Number of threads encoding passwords; BCrypt is CPU bound, so more threads than cores only adds queueing.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Maximum number of hashing tasks waiting for a thread before new requests are rejected.
+     */
+    private int queueCapacity = 64;
+    /**
+     * Maximum time a caller waits for its hash before giving up.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+    /**
+     * Fixed BCrypt strength; when not set the strength is calibrated at startup to {@code targetHashTime}.
+     */
+    private Integer strength;
+    /**
+     * Time a single hash should take on the current hardware, used to calibrate the BCrypt strength.
+     */
+    private Duration targetHashTime = Duration.ofMillis(250);
+    /**
+     * Lowest strength calibration may choose, however slow the hardware is.
+     */
+    private int minStrength = 10;
+    /**
+     * Highest strength calibration may choose, however fast the hardware is.
+     */
+    private int maxStrength = 14;
+}
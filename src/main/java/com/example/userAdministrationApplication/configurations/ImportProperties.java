@@ -0,0 +1,19 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user-administration.import")
+@Getter
+@Setter
+public class ImportProperties {
+    /**
+     * Number of rows hashed and written to the data base per JDBC batch.
+     */
+    private int batchSize = 500;
+    /**
+     * Maximum number of row errors returned in the import report; the failed count is always exact.
+     */
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,45 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "user-administration.password-policy")
+@Getter
+@Setter
+public class PasswordPolicyProperties {
+    /**
+     * Minimum number of characters.
+     */
+    private int minLength = 4;
+    private boolean requireUppercase = true;
+    private boolean requireLowercase = true;
+    private boolean requireDigit = true;
+    /**
+     * Whether at least one of {@code specialCharacters} is required.
+     */
+    private boolean requireSpecial = true;
+    /**
+     * Characters accepted as special characters, only ASCII characters are taken into account.
+     */
+    private String specialCharacters = "@#$%^&+=!";
+    /**
+     * Rules for users of an email domain and its subdomains, keyed by domain, e.g. {@code domains[example.com].min-length=12}.
+     * Settings left out are taken from the default rule above; the most specific matching domain wins.
+     */
+    private Map<String, DomainRule> domains = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class DomainRule {
+        private Integer minLength;
+        private Boolean requireUppercase;
+        private Boolean requireLowercase;
+        private Boolean requireDigit;
+        private Boolean requireSpecial;
+        private String specialCharacters;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "user-administration.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    /**
+     * Whether requests to /users are rate limited per client.
+     */
+    private boolean enabled = true;
+    /**
+     * Header identifying a client by API key. Clients without it, or with a key not in {@code apiKeys}, are identified
+     * by their remote address.
+     */
+    private String apiKeyHeader = "X-API-Key";
+    /**
+     * API keys that get a bucket of their own. Other keys are ignored, so rotating the header does not reset the limit.
+     */
+    private Set<String> apiKeys = new LinkedHashSet<>();
+    /**
+     * Requests a client can send in a burst to endpoints that change data (everything but GET, HEAD and OPTIONS, and
+     * POST /users/authenticate, which has its own bucket).
+     */
+    private int writeCapacity = 20;
+    /**
+     * Write requests per second a client is allowed on average.
+     */
+    private double writeRefillPerSecond = 5;
+    /**
+     * Requests a client can send in a burst to read endpoints.
+     */
+    private int readCapacity = 200;
+    /**
+     * Read requests per second a client is allowed on average.
+     */
+    private double readRefillPerSecond = 100;
+    /**
+     * Authentication attempts a client can send in a burst. They hash a password like writes do, but are limited apart
+     * so that signing in does not use up a client's write budget, and the other way around.
+     */
+    private int authenticateCapacity = 10;
+    /**
+     * Authentication attempts per second a client is allowed on average.
+     */
+    private double authenticateRefillPerSecond = 2;
+    /**
+     * Maximum number of clients tracked per endpoint type; the least recently seen ones are dropped first.
+     */
+    private long maximumClients = 100_000;
+}
@@ -0,0 +1,25 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-administration.recent-users")
+@Getter
+@Setter
+public class RecentUsersProperties {
+    /**
+     * Whether users created in the last day are served from memory; when disabled every request reads the data base.
+     */
+    private boolean enabled = true;
+    /**
+     * Extra time kept beyond the last 24 hours, so expired users are dropped in batches rather than on every write.
+     */
+    private Duration margin = Duration.ofHours(1);
+    /**
+     * Maximum number of users held; above it the window goes cold and requests fall back to the data base.
+     */
+    private int maximumSize = 200_000;
+}
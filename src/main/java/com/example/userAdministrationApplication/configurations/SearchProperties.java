@@ -0,0 +1,23 @@
+package com.example.userAdministrationApplication.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "user-administration.search")
+@Getter
+@Setter
+public class SearchProperties {
+    /**
+     * Whether the in-memory search index is built; when disabled the search endpoint answers 503.
+     */
+    private boolean enabled = true;
+    /**
+     * Most results one search returns.
+     */
+    private int maximumResults = 100;
+    /**
+     * Most index entries one search looks at, which bounds the time of a query whose terms rarely occur together.
+     */
+    private int maximumScanned = 10000;
+}
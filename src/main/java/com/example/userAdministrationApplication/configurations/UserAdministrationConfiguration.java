@@ -1,14 +1,130 @@
 package com.example.userAdministrationApplication.configurations;
 
+import com.example.userAdministrationApplication.utils.CalibratedPasswordEncoder;
+import com.example.userAdministrationApplication.utils.SingleFlightCaffeineCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties({
+        ImportProperties.class,
+        ExportProperties.class,
+        HashingProperties.class,
+        CacheProperties.class,
+        EmailFilterProperties.class,
+        CircuitBreakerProperties.class,
+        RecentUsersProperties.class,
+        CountersProperties.class,
+        PasswordPolicyProperties.class,
+        RateLimitProperties.class,
+        DeactivationProperties.class,
+        SearchProperties.class,
+        DataVersionProperties.class
+})
 public class UserAdministrationConfiguration {
+    public final static String USERS_CACHE = "users";
+    final static Logger logger = LoggerFactory.getLogger(UserAdministrationConfiguration.class);
+
+    /**
+     * With {@code spring.main.lazy-initialization} the controllers, and through them the services, repositories,
+     * data source and BCrypt calibration, are still created at startup, so the first request does not pay for them.
+     * Actuator endpoints, the H2 console and other beans off the request path are created on first use.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter controllersLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType != null && AnnotatedElementUtils.hasAnnotation(beanType, RestController.class);
+    }
+
+    /**
+     * BCrypt at a fixed strength when one is configured, otherwise at the highest strength whose hash stays within
+     * the target time on this machine. Hashes stored at another strength are re-encoded after a successful login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(HashingProperties hashingProperties) {
+        if (hashingProperties.getStrength() != null) {
+            return new CalibratedPasswordEncoder(hashingProperties.getStrength());
+        }
+        CalibratedPasswordEncoder passwordEncoder = CalibratedPasswordEncoder.calibrate(
+                hashingProperties.getTargetHashTime(),
+                hashingProperties.getMinStrength(),
+                hashingProperties.getMaxStrength());
+        logger.info("Calibrated BCrypt strength {} for a target hash time of {}",
+                passwordEncoder.getStrength(), hashingProperties.getTargetHashTime());
+        return passwordEncoder;
+    }
+
+    /**
+     * Enables {@code @Timed} on the services. The timer measures one attempt, because the retry interceptor wraps it;
+     * retries and their backoff show up in {@code http.server.requests} and {@code user.service.retry.attempts}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        // Async mode keeps in-flight loads as futures, so SingleFlightCaffeineCache can load outside the map's lock
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected SingleFlightCaffeineCache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return new SingleFlightCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of(USERS_CACHE));
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(cacheProperties.getTimeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // Puts and evictions made inside a transaction are applied only after it commits,
+        // so a concurrent read can never re-cache a row that is about to change or roll back
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Micrometer only publishes load statistics for loading caches, while {@code @Cacheable(sync = true)} loads
+     * through {@code AsyncCache.get(key, loader)}, so the load count and time are bound from the Caffeine stats directly.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public MeterBinder usersCacheLoadMetrics(CacheManager cacheManager) {
+        return registry -> {
+            Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(USERS_CACHE).getNativeCache();
+            FunctionCounter.builder("cache.load", cache, c -> c.stats().loadSuccessCount())
+                    .tags("cache", USERS_CACHE, "result", "success")
+                    .description("The number of times cache lookup methods have successfully loaded a new value")
+                    .register(registry);
+            FunctionCounter.builder("cache.load", cache, c -> c.stats().loadFailureCount())
+                    .tags("cache", USERS_CACHE, "result", "failure")
+                    .description("The number of times cache lookup methods failed to load a new value")
+                    .register(registry);
+            TimeGauge.builder("cache.load.duration", cache, TimeUnit.NANOSECONDS, c -> c.stats().totalLoadTime())
+                    .tags("cache", USERS_CACHE)
+                    .description("The time the cache has spent loading new values")
+                    .register(registry);
+        };
     }
 }
@@ -1,9 +1,19 @@
 package com.example.userAdministrationApplication.controllers;
 
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
 import com.example.userAdministrationApplication.exceptions.DbConnectionException;
-import com.example.userAdministrationApplication.exceptions.InvalidPasswordException;
+import com.example.userAdministrationApplication.exceptions.HashingOverloadedException;
+import com.example.userAdministrationApplication.exceptions.InvalidCredentialsException;
+import com.example.userAdministrationApplication.exceptions.InvalidCursorException;
+import com.example.userAdministrationApplication.exceptions.InvalidFieldsException;
+import com.example.userAdministrationApplication.exceptions.InvalidImportFileException;
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import com.example.userAdministrationApplication.exceptions.SearchUnavailableException;
+import com.example.userAdministrationApplication.exceptions.UnsupportedFileFormatException;
 import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.exceptions.UserNotFoundException;
 import com.example.userAdministrationApplication.modules.dtos.responses.FieldsValidationErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -38,8 +48,60 @@ public class ControllersAdvice {
         return new ResponseEntity<>(new FieldsValidationErrorResponse(errors), HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(InvalidPasswordException.class)
-    public ResponseEntity<String> handleInvalidPasswordException(InvalidPasswordException e) {
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<String> handleInvalidCredentialsException(InvalidCredentialsException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<String> handleInvalidFieldsException(InvalidFieldsException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidUserQueryException.class)
+    public ResponseEntity<String> handleInvalidUserQueryException(InvalidUserQueryException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<String> handleInvalidImportFileException(InvalidImportFileException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<String> handleHashingOverloadedException(HashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedFileFormatException.class)
+    public ResponseEntity<String> handleUnsupportedFileFormatException(UnsupportedFileFormatException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<String> handleUserNotFoundException(UserNotFoundException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(CircuitBreakerOpenException.class)
+    public ResponseEntity<String> handleCircuitBreakerOpenException(CircuitBreakerOpenException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(SearchUnavailableException.class)
+    public ResponseEntity<String> handleSearchUnavailableException(SearchUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
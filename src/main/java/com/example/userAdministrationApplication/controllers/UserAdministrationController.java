@@ -1,25 +1,72 @@
 package com.example.userAdministrationApplication.controllers;
 
+import com.example.userAdministrationApplication.configurations.ExportProperties;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.AuthenticateRequest;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserIdsRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import com.example.userAdministrationApplication.modules.dtos.responses.BulkOperationResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.ImportUsersResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.SearchUsersResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
+import com.example.userAdministrationApplication.services.DeactivationBufferService;
 import com.example.userAdministrationApplication.services.UserAdministrationService;
+import com.example.userAdministrationApplication.services.UserExportService;
+import com.example.userAdministrationApplication.services.UserImportService;
+import com.example.userAdministrationApplication.services.UserSearchService;
+import com.example.userAdministrationApplication.utils.CursorUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController()
 @RequestMapping("/users")
 @CrossOrigin(origins = "http://localhost:3000")
 public class UserAdministrationController {
     private final UserAdministrationService userAdministrationService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final DeactivationBufferService deactivationBufferService;
+    private final UserSearchService userSearchService;
+    private final ExportProperties exportProperties;
 
     @Autowired
-    public UserAdministrationController(UserAdministrationService userAdministrationService) {
+    public UserAdministrationController(UserAdministrationService userAdministrationService,
+                                        UserImportService userImportService,
+                                        UserExportService userExportService,
+                                        DeactivationBufferService deactivationBufferService,
+                                        UserSearchService userSearchService,
+                                        ExportProperties exportProperties) {
         this.userAdministrationService = userAdministrationService;
+        this.userImportService = userImportService;
+        this.userExportService = userExportService;
+        this.deactivationBufferService = deactivationBufferService;
+        this.userSearchService = userSearchService;
+        this.exportProperties = exportProperties;
     }
 
     @PostMapping
@@ -28,18 +75,96 @@ public class UserAdministrationController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/authenticate")
+    public ResponseEntity<UserResponse> authenticate(@Valid @RequestBody AuthenticateRequest request) {
+        UserResponse response = userAdministrationService.authenticate(request);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<ImportUsersResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        ImportUsersResponse response = userImportService.importUsers(body, UserFileFormat.fromContentType(contentType));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             WebRequest request) {
+        UserFileFormat fileFormat = UserFileFormat.fromName(format);
+        // The body is streamed as an async request, which would otherwise be cut off by the default async timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportProperties.getTimeout().toMillis());
+        return ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + fileFormat.getFileExtension() + "\"")
+                .body(output -> userExportService.exportUsers(output, fileFormat));
+    }
+
     @GetMapping
     public ResponseEntity<GetUsersResponse> getAllUsers(
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(0) int limit) {
-        GetUsersResponse users = userAdministrationService.getAllUsers(page, limit);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+            @RequestParam(defaultValue = "10") @Min(0) int limit,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) String sort,
+            WebRequest request) {
+        Set<UserField> userFields = UserField.fromNames(fields);
+        UserFilter filter = UserFilter.of(active, createdFrom, createdTo, emailDomain);
+        UserSort userSort = UserSort.fromValue(sort);
+        if (filter.isEmpty() && userSort == null) {
+            return conditional(request, userAdministrationService.getUsersVersion(),
+                    () -> userAdministrationService.getAllUsers(page, limit, includeTotal, userFields));
+        }
+        return conditional(request, userAdministrationService.getUsersVersion(),
+                () -> userAdministrationService.getUsers(filter, userSort, page, limit, includeTotal, userFields));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<GetUsersCursorResponse> getAllUsersAfterCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        CursorUtil.Cursor cursor = CursorUtil.decode(after);
+        Set<UserField> userFields = UserField.fromNames(fields);
+        return conditional(request, userAdministrationService.getUsersVersion(),
+                () -> userAdministrationService.getAllUsersAfter(cursor, limit, userFields));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchUsersResponse> searchUsers(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @RequestParam(required = false) String fields) {
+        Set<UserField> userFields = UserField.fromNames(fields);
+        List<UserDto> users = userSearchService.search(q, limit);
+        users.forEach(user -> UserField.retain(user, userFields));
+        return new ResponseEntity<>(new SearchUsersResponse(users), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserResponse> getUser(@PathVariable long id) {
+        UserResponse user = userAdministrationService.getUser(id);
+        return new ResponseEntity<>(user, HttpStatus.OK);
     }
 
     @PutMapping("/deactivate/{id}")
-    public ResponseEntity<Void> deactivateUser(@PathVariable long id) {
-        userAdministrationService.deactivateUser(id);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<Void> deactivateUser(@PathVariable long id,
+                                               @RequestParam(defaultValue = "false") boolean async) {
+        // With write-behind enabled an async request is acknowledged as soon as it is buffered
+        boolean written = deactivationBufferService.deactivate(id, async);
+        return new ResponseEntity<>(written ? HttpStatus.NO_CONTENT : HttpStatus.ACCEPTED);
+    }
+
+    @PutMapping("/deactivate")
+    public ResponseEntity<BulkOperationResponse> deactivateUsers(@Valid @RequestBody UserIdsRequest request) {
+        int deactivated = userAdministrationService.deactivateUsers(request.getIds());
+        return new ResponseEntity<>(new BulkOperationResponse(deactivated), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -48,11 +173,56 @@ public class UserAdministrationController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @DeleteMapping
+    public ResponseEntity<BulkOperationResponse> deleteUsers(@Valid @RequestBody UserIdsRequest request) {
+        int deleted = userAdministrationService.deleteUsers(request.getIds());
+        return new ResponseEntity<>(new BulkOperationResponse(deleted), HttpStatus.OK);
+    }
+
     @GetMapping("/createdLastDay")
     public ResponseEntity<GetUsersResponse> getCreatedUsersLastDay(
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "10") @Min(0) int limit) {
-        GetUsersResponse users = userAdministrationService.getCreatedUsersLastDay(page, limit);
-        return new ResponseEntity<>(users, HttpStatus.OK);
+            @RequestParam(defaultValue = "10") @Min(0) int limit,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<UserField> userFields = UserField.fromNames(fields);
+        return conditional(request, userAdministrationService.getCreatedUsersLastDayVersion(),
+                () -> userAdministrationService.getCreatedUsersLastDay(page, limit, includeTotal, userFields));
+    }
+
+    @GetMapping(value = "/createdLastDay", params = "after")
+    public ResponseEntity<GetUsersCursorResponse> getCreatedUsersLastDayAfterCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") @Min(1) int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        CursorUtil.Cursor cursor = CursorUtil.decode(after);
+        Set<UserField> userFields = UserField.fromNames(fields);
+        return conditional(request, userAdministrationService.getCreatedUsersLastDayVersion(),
+                () -> userAdministrationService.getCreatedUsersLastDayAfter(cursor, limit, userFields));
+    }
+
+    /**
+     * Answers 304 when the client already holds the current version, before any query runs. The version is read
+     * before the data, so a change committing in between only makes the next poll download the list again.
+     * {@code no-cache} lets browsers keep the list and revalidate it on every poll.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Optional<String> version, Supplier<T> body) {
+        if (version.isEmpty()) {
+            return new ResponseEntity<>(body.get(), HttpStatus.OK);
+        }
+
+        String eTag = "\"" + version.get() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
     }
 }
@@ -0,0 +1,20 @@
+package com.example.userAdministrationApplication.endpoints;
+
+import com.example.userAdministrationApplication.modules.dtos.CircuitBreakerStateDto;
+import com.example.userAdministrationApplication.services.CircuitBreakerService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "circuitbreaker")
+@AllArgsConstructor
+public class CircuitBreakerEndpoint {
+    private final CircuitBreakerService circuitBreakerService;
+
+    @ReadOperation
+    public CircuitBreakerStateDto circuitBreaker() {
+        return circuitBreakerService.getState();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.userAdministrationApplication.exceptions;
+
+import lombok.Getter;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+
+@Getter
+public class CircuitBreakerOpenException extends TransientDataAccessResourceException {
+    private final Duration retryAfter;
+
+    public CircuitBreakerOpenException(Duration retryAfter) {
+        super("Data base is unavailable, please retry later");
+        this.retryAfter = retryAfter;
+    }
+}
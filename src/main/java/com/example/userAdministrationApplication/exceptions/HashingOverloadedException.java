@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException() {
+        super("Server is busy hashing passwords, please retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException() {
+        super("Email or password is not valid");
+    }
+}
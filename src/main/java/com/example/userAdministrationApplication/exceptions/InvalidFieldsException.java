@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String field) {
+        super(String.format("Field \"%s\" is not valid, use id, firstName, lastName, email, active or createdAt", field));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class InvalidUserQueryException extends RuntimeException {
+    public InvalidUserQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException() {
+        super("Search index is not available yet, please retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class UnsupportedFileFormatException extends RuntimeException {
+    public UnsupportedFileFormatException(String format) {
+        super(String.format("File format \"%s\" is not supported, use ndjson or csv", format));
+    }
+}
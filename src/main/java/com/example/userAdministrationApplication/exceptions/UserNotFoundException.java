@@ -0,0 +1,7 @@
+package com.example.userAdministrationApplication.exceptions;
+
+public class UserNotFoundException extends RuntimeException {
+    public UserNotFoundException(long id) {
+        super(String.format("User with id %s does not exist", id));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.userAdministrationApplication.filters;
+
+import com.example.userAdministrationApplication.configurations.RateLimitProperties;
+import com.example.userAdministrationApplication.services.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Rate limits every request to /users per client before it reaches the controller, so one client cannot keep all
+ * hashing threads busy. Reads, writes and authentication attempts have separate buckets, so a client flooding signups
+ * can still read and sign in.
+ * Runs just before the security filter chain and after the request metrics filter, so rejections are still measured.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final static String USERS_PATH = "/users";
+    private final static String AUTHENTICATE_PATH = USERS_PATH + "/authenticate";
+    final static Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitService rateLimitService;
+    private final RateLimitProperties properties;
+
+    public RateLimitFilter(RateLimitService rateLimitService, RateLimitProperties properties) {
+        this.rateLimitService = rateLimitService;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !properties.isEnabled() || !(path.equals(USERS_PATH) || path.startsWith(USERS_PATH + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = client(request);
+        Optional<Duration> retryAfter = rateLimitService.tryAcquire(client, type(request));
+        if (retryAfter.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (retryAfter.get().toMillis() + 999) / 1000);
+        logger.debug("Rate limiting {} {} from {} for {}s", request.getMethod(), request.getRequestURI(), client, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, please retry later");
+    }
+
+    // Only configured keys are trusted, otherwise a client could get a full bucket by sending a new key each time
+    private String client(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        return apiKey != null && properties.getApiKeys().contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private RateLimitService.Type type(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return RateLimitService.Type.READ;
+        }
+        return HttpMethod.POST.matches(method) && path(request).equals(AUTHENTICATE_PATH)
+                ? RateLimitService.Type.AUTHENTICATE
+                : RateLimitService.Type.WRITE;
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
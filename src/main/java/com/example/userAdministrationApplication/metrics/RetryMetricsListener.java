@@ -0,0 +1,62 @@
+package com.example.userAdministrationApplication.metrics;
+
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts every attempt of a {@code @Retryable} method by outcome and every {@code @Recover} invocation.
+ * It is picked up by all {@code @Retryable} methods because it is the only {@link RetryListener} bean and none of them
+ * names its own listeners.
+ * Recover methods run reflectively on the target, so they are counted here: a call that ends exhausted with a
+ * {@link DataAccessException} other than {@link CircuitBreakerOpenException} is exactly the case the service
+ * {@code @Recover} methods handle, every other exception is declared not recoverable.
+ */
+@Component
+@AllArgsConstructor
+public class RetryMetricsListener implements RetryListener {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+        attempts(callback, "success", "none").increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        attempts(callback, "failure", throwable.getClass().getSimpleName()).increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (context.hasAttribute(RetryContext.EXHAUSTED)
+                && throwable instanceof DataAccessException
+                && !(throwable instanceof CircuitBreakerOpenException)) {
+            Counter.builder("user.service.recoveries")
+                    .description("Calls that exhausted their retries and were handed to a @Recover method")
+                    .tags("method", methodName(callback), "exception", throwable.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private Counter attempts(RetryCallback<?, ?> callback, String outcome, String exception) {
+        return Counter.builder("user.service.retry.attempts")
+                .description("Attempts of @Retryable service methods, the first one included")
+                .tags("method", methodName(callback), "outcome", outcome, "exception", exception)
+                .register(meterRegistry);
+    }
+
+    private String methodName(RetryCallback<?, ?> callback) {
+        return callback instanceof MethodInvocationRetryCallback<?, ?> invocation
+                ? invocation.getInvocation().getMethod().getName()
+                : "unknown";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.userAdministrationApplication.modules.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CircuitBreakerStateDto {
+    private String state;
+    private int bufferedCalls;
+    private int failedCalls;
+    private double failureRate;
+    private long remainingOpenMillis;
+    private double retryTokens;
+}
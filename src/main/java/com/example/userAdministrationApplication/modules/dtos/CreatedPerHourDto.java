@@ -0,0 +1,18 @@
+package com.example.userAdministrationApplication.modules.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CreatedPerHourDto {
+    private LocalDate day;
+    private int hour;
+    private long count;
+}
@@ -0,0 +1,16 @@
+package com.example.userAdministrationApplication.modules.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ImportErrorDto {
+    private long row;
+    private String email;
+    private String message;
+}
@@ -1,5 +1,6 @@
 package com.example.userAdministrationApplication.modules.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,12 +12,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Getter
 @Setter
+// Fields left out with the fields parameter are null and not serialized
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserDto {
     private Long id;
     private String firstName;
     private String lastName;
     private String email;
-    private String password;
     private Boolean active;
     private LocalDateTime createdAt;
 }
@@ -12,6 +12,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Setter
 @Getter
+@ValidPassword
 public class CreateNewUserRequest {
     @NotBlank(message = "First name is required")
     private String firstName;
@@ -20,7 +21,6 @@ public class CreateNewUserRequest {
     @NotBlank(message = "Email is required")
     @Email(message = "Email need to be a valid email address")
     private String email;
-    @ValidPassword
     @NotBlank(message = "Password is required")
     private String password;
 }
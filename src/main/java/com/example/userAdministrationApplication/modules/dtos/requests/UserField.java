@@ -0,0 +1,80 @@
+package com.example.userAdministrationApplication.modules.dtos.requests;
+
+import com.example.userAdministrationApplication.exceptions.InvalidFieldsException;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A user property that can be requested with the {@code fields} parameter. The name is both the JSON property and the
+ * entity attribute it is selected from.
+ */
+@Getter
+public enum UserField {
+    ID("id", (user, value) -> user.setId((Long) value)),
+    FIRST_NAME("firstName", (user, value) -> user.setFirstName((String) value)),
+    LAST_NAME("lastName", (user, value) -> user.setLastName((String) value)),
+    EMAIL("email", (user, value) -> user.setEmail((String) value)),
+    ACTIVE("active", (user, value) -> user.setActive((Boolean) value)),
+    CREATED_AT("createdAt", (user, value) -> user.setCreatedAt((LocalDateTime) value));
+
+    public final static Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    private final String name;
+    private final BiConsumer<UserDto, Object> setter;
+
+    UserField(String name, BiConsumer<UserDto, Object> setter) {
+        this.name = name;
+        this.setter = setter;
+    }
+
+    public void set(UserDto user, Object value) {
+        setter.accept(user, value);
+    }
+
+    /**
+     * Parses a comma separated list of field names. A blank value means every field.
+     */
+    public static Set<UserField> fromNames(String names) {
+        if (names == null || names.isBlank()) {
+            return ALL;
+        }
+
+        EnumSet<UserField> fields = EnumSet.noneOf(UserField.class);
+        for (String name : names.split(",")) {
+            fields.add(fromName(name.trim()));
+        }
+        if (fields.isEmpty()) {
+            throw new InvalidFieldsException(names);
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+
+    public static UserField fromName(String name) {
+        for (UserField field : values()) {
+            if (field.name.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldsException(name);
+    }
+
+    /**
+     * Clears every field of the user that was not requested, so it is left out of the response.
+     */
+    public static UserDto retain(UserDto user, Set<UserField> fields) {
+        if (fields.size() < ALL.size()) {
+            for (UserField field : values()) {
+                if (!fields.contains(field)) {
+                    field.set(user, null);
+                }
+            }
+        }
+        return user;
+    }
+}
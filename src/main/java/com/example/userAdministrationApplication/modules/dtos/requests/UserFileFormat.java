@@ -0,0 +1,37 @@
+package com.example.userAdministrationApplication.modules.dtos.requests;
+
+import com.example.userAdministrationApplication.exceptions.UnsupportedFileFormatException;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum UserFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    UserFileFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static UserFileFormat fromContentType(MediaType contentType) {
+        for (UserFileFormat format : values()) {
+            if (format.mediaType.includes(contentType)) {
+                return format;
+            }
+        }
+        throw new UnsupportedFileFormatException(String.valueOf(contentType));
+    }
+
+    public static UserFileFormat fromName(String name) {
+        for (UserFileFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new UnsupportedFileFormatException(name);
+    }
+}
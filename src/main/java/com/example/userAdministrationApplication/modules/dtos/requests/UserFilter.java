@@ -0,0 +1,57 @@
+package com.example.userAdministrationApplication.modules.dtos.requests;
+
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Filters of the list endpoint. Every filter left {@code null} matches all users.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class UserFilter {
+    public final static UserFilter NONE = new UserFilter();
+
+    private Boolean active;
+    // Inclusive
+    private LocalDateTime createdFrom;
+    // Exclusive
+    private LocalDateTime createdTo;
+    // Lower case, without the @
+    private String emailDomain;
+
+    /**
+     * Builds a filter from request parameters, normalizing the domain the way emails are normalized.
+     */
+    public static UserFilter of(Boolean active, LocalDateTime createdFrom, LocalDateTime createdTo, String emailDomain) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidUserQueryException("createdFrom must be before createdTo");
+        }
+        String domain = null;
+        if (emailDomain != null && !emailDomain.isBlank()) {
+            domain = emailDomain.trim().toLowerCase(Locale.ROOT);
+            if (domain.startsWith("@")) {
+                domain = domain.substring(1);
+            }
+            if (domain.isEmpty() || domain.contains("@")) {
+                throw new InvalidUserQueryException(String.format("Email domain \"%s\" is not valid", emailDomain));
+            }
+        }
+        return new UserFilter(active, createdFrom, createdTo, domain);
+    }
+
+    public boolean hasCreatedRange() {
+        return createdFrom != null || createdTo != null;
+    }
+
+    public boolean isEmpty() {
+        return active == null && !hasCreatedRange() && emailDomain == null;
+    }
+}
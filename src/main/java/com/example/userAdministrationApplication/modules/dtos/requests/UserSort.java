@@ -0,0 +1,69 @@
+package com.example.userAdministrationApplication.modules.dtos.requests;
+
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * A sort of the list endpoint, written as {@code property} or {@code property,asc|desc}. Only properties an index
+ * is ordered by are accepted; which of them can be combined with which filter is decided by
+ * {@link com.example.userAdministrationApplication.repositories.UserListIndex}.
+ */
+@AllArgsConstructor
+@Getter
+public class UserSort {
+    @Getter
+    public enum Property {
+        ID("id", List.of("id")),
+        // Creation times are not unique, so the id breaks ties and keeps pages stable
+        CREATED_AT("createdAt", List.of("createdAt", "id")),
+        EMAIL("email", List.of("emailNormalized"));
+
+        private final String name;
+        private final List<String> entityProperties;
+
+        Property(String name, List<String> entityProperties) {
+            this.name = name;
+            this.entityProperties = entityProperties;
+        }
+    }
+
+    private final Property property;
+    private final Sort.Direction direction;
+
+    /**
+     * Parses a sort parameter. A blank value means no sort.
+     */
+    public static UserSort fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        String[] parts = value.split(",", -1);
+        if (parts.length > 2) {
+            throw invalid(value);
+        }
+        Property property = null;
+        for (Property candidate : Property.values()) {
+            if (candidate.name.equalsIgnoreCase(parts[0].trim())) {
+                property = candidate;
+            }
+        }
+        if (property == null) {
+            throw invalid(value);
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() -> invalid(value));
+        }
+        return new UserSort(property, direction);
+    }
+
+    private static InvalidUserQueryException invalid(String value) {
+        return new InvalidUserQueryException(String.format(
+                "Sort \"%s\" is not valid, use id, createdAt or email, optionally followed by ,asc or ,desc", value));
+    }
+}
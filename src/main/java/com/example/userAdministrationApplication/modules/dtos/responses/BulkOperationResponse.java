@@ -0,0 +1,14 @@
+package com.example.userAdministrationApplication.modules.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BulkOperationResponse {
+    private long affectedCount;
+}
@@ -1,6 +1,7 @@
 package com.example.userAdministrationApplication.modules.dtos.responses;
 
 import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,8 +13,11 @@ import java.util.List;
 @NoArgsConstructor
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GetUsersResponse {
     private List<UserDto> user;
-    private long totalCount;
-    private int totalPages;
+    // Left out when the caller asked for includeTotal=false
+    private Long totalCount;
+    private Integer totalPages;
+    private boolean hasNext;
 }
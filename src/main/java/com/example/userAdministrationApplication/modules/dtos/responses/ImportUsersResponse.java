@@ -0,0 +1,20 @@
+package com.example.userAdministrationApplication.modules.dtos.responses;
+
+import com.example.userAdministrationApplication.modules.dtos.ImportErrorDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ImportUsersResponse {
+    private long totalRows;
+    private long importedCount;
+    private long failedCount;
+    private List<ImportErrorDto> errors;
+}
@@ -2,12 +2,14 @@ package com.example.userAdministrationApplication.modules.entities;
 
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 
 @Entity
 @Table(name = "users")
@@ -22,8 +24,18 @@ public class UserEntity {
     private String firstName;
     @Column(name = "last_name", nullable = false)
     private String lastName;
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
+    // Generated by the data base as lower(trim(email)) and unique, only used to look users up by email
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized", insertable = false, updatable = false)
+    private String emailNormalized;
+    // Generated by the data base as the part of the normalized email after the @, only used to filter by domain
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_domain", insertable = false, updatable = false)
+    private String emailDomain;
     @Column(name = "password", nullable = false)
     private String password;
     @Column(name = "active", nullable = false)
@@ -31,12 +43,20 @@ public class UserEntity {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    public UserEntity(CreateNewUserRequest request, PasswordEncoder passwordEncoder) {
+    public UserEntity(CreateNewUserRequest request, String passwordHash) {
         this.firstName = request.getFirstName();
         this.lastName = request.getLastName();
         this.email = request.getEmail();
-        this.password = passwordEncoder.encode(request.getPassword());
+        this.password = passwordHash;
         this.active = true;
-        this.createdAt = LocalDateTime.now();
+        // Stored with microsecond precision, so keep the in-memory value identical for cursor comparisons
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * The value the {@code email_normalized} column holds for an email, which lookups by email compare against.
+     */
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
     }
 }
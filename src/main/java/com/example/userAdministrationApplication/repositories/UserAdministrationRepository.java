@@ -1,17 +1,75 @@
 package com.example.userAdministrationApplication.repositories;
 
+import com.example.userAdministrationApplication.modules.dtos.CreatedPerHourDto;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
 import com.example.userAdministrationApplication.modules.entities.UserEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface UserAdministrationRepository extends JpaRepository<UserEntity, Long> {
-    Boolean existsByEmail(String email);
+public interface UserAdministrationRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity>,
+        UserProjectionRepository, UserDeletionRepository {
+    // Lookups by email take the value of UserEntity.normalizeEmail, which the unique email index covers
+    Boolean existsByEmailNormalized(String emailNormalized);
+
+    Optional<UserEntity> findByEmailNormalized(String emailNormalized);
+
+    @Query("select u.emailNormalized from UserEntity u where u.emailNormalized in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> normalizedEmails);
 
     List<UserEntity> findByCreatedAtAfter(LocalDateTime dateTime);
-    
-    Page<UserEntity> findByCreatedAtAfter(LocalDateTime dateTime, Pageable pageable);
+
+    long countByCreatedAtAfter(LocalDateTime dateTime);
+
+    long countByActiveTrue();
+
+    // Aggregated in the data base, so reconciling reads one row per hour whatever the number of signups
+    @Query("select new com.example.userAdministrationApplication.modules.dtos.CreatedPerHourDto("
+            + "extract(date from u.createdAt), extract(hour from u.createdAt), count(u)) "
+            + "from UserEntity u where u.createdAt >= :from "
+            + "group by extract(date from u.createdAt), extract(hour from u.createdAt)")
+    List<CreatedPerHourDto> countCreatedPerHourSince(@Param("from") LocalDateTime from);
+
+    // Only replaces the hash that was verified, so a concurrent password change is never overwritten
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") long id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.active = false where u.id = :id and u.active = true")
+    int deactivateById(@Param("id") long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.active = false where u.id in :ids and u.active = true")
+    int deactivateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserEntity> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.email from UserEntity u")
+    Stream<String> streamAllEmails();
+
+    // Constructor results are not managed, so the persistence context stays empty however many users are read
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.userAdministrationApplication.modules.dtos.UserDto("
+            + "u.id, u.firstName, u.lastName, u.email, u.active, u.createdAt) from UserEntity u")
+    Stream<UserDto> streamAllUsers();
 }
@@ -0,0 +1,20 @@
+package com.example.userAdministrationApplication.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hard deletes that report how many of the deleted users were active and when they were created, so the user
+ * counters stay exact.
+ */
+public interface UserDeletionRepository {
+    record DeletedUsers(int deleted, int activeDeleted, List<LocalDateTime> createdAt) {
+    }
+
+    /**
+     * Locks and reads the users with the given ids, then deletes them with one statement. Like the {@code @Modifying}
+     * queries, it flushes pending changes first and clears the persistence context afterwards.
+     */
+    DeletedUsers deleteByIdIn(Collection<Long> ids);
+}
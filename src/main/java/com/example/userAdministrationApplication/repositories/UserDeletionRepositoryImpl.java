@@ -0,0 +1,33 @@
+package com.example.userAdministrationApplication.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Transactional
+public class UserDeletionRepositoryImpl implements UserDeletionRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public DeletedUsers deleteByIdIn(Collection<Long> ids) {
+        entityManager.flush();
+        // The rows stay locked until the transaction ends, so a concurrent deactivation cannot change what was counted
+        List<Object[]> rows = entityManager.createQuery("select u.active, u.createdAt from UserEntity u where u.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        int deleted = entityManager.createQuery("delete from UserEntity u where u.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        entityManager.clear();
+        int activeDeleted = (int) rows.stream().filter(row -> (Boolean) row[0]).count();
+        List<LocalDateTime> createdAt = rows.stream().map(row -> (LocalDateTime) row[1]).toList();
+        return new DeletedUsers(deleted, activeDeleted, createdAt);
+    }
+}
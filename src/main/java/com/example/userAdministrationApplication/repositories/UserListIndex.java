@@ -0,0 +1,86 @@
+package com.example.userAdministrationApplication.repositories;
+
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The indexes a filtered or sorted page of users is read through. The filter picks the index whose leading column it
+ * fixes, and a sort is accepted only when it is the order of that index, so every accepted page is a seek followed by
+ * an ordered walk that stops after the page. A combination that would sort the matching rows, or the whole table, is
+ * rejected before any query runs.
+ * Other filters are checked on the rows the index returns: a created range narrows the seek of every index that
+ * continues with {@code created_at}, and the active flag is checked on the users of the requested domain.
+ */
+@Getter
+public enum UserListIndex {
+    PRIMARY_KEY("primary key", List.of(), UserSort.Property.ID),
+    CREATED_AT("ix_users_created_at_id", List.of(), UserSort.Property.CREATED_AT),
+    ACTIVE_CREATED_AT("ix_users_active_created_at_id", List.of("active"), UserSort.Property.CREATED_AT),
+    EMAIL_DOMAIN_CREATED_AT("ix_users_email_domain_created_at_id", List.of("emailDomain"), UserSort.Property.CREATED_AT),
+    EMAIL("ux_users_email_normalized", List.of(), UserSort.Property.EMAIL);
+
+    private final String name;
+    // Leading columns an equality filter fixes
+    private final List<String> fixedProperties;
+    private final UserSort.Property order;
+
+    UserListIndex(String name, List<String> fixedProperties, UserSort.Property order) {
+        this.name = name;
+        this.fixedProperties = fixedProperties;
+        this.order = order;
+    }
+
+    /**
+     * Returns the index that serves the filter and sort, or throws {@link InvalidUserQueryException} when none does.
+     * Without a filter every accepted sort has its own index, and without a sort the page follows the order of the
+     * index the filter picked.
+     */
+    public static UserListIndex forQuery(UserFilter filter, UserSort sort) {
+        UserListIndex index;
+        String filterName;
+        if (filter.getEmailDomain() != null) {
+            index = EMAIL_DOMAIN_CREATED_AT;
+            filterName = "emailDomain";
+        } else if (filter.getActive() != null) {
+            index = ACTIVE_CREATED_AT;
+            filterName = "active";
+        } else if (filter.hasCreatedRange()) {
+            index = CREATED_AT;
+            filterName = "createdFrom/createdTo";
+        } else {
+            return sort == null ? PRIMARY_KEY : forOrder(sort.getProperty());
+        }
+
+        if (sort != null && sort.getProperty() != index.order) {
+            throw new InvalidUserQueryException(String.format(
+                    "Sort \"%s\" cannot be combined with the %s filter, sort by %s instead",
+                    sort.getProperty().getName(), filterName, index.order.getName()));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the ORDER BY that reads this index in the given direction. The columns fixed by the filter lead it as
+     * well: they do not change the order, but H2 reads an index in order only when the ORDER BY starts with the
+     * index's first column, and sorts the rows otherwise.
+     */
+    public Sort toSort(Sort.Direction direction) {
+        List<String> properties = new ArrayList<>(fixedProperties);
+        properties.addAll(order.getEntityProperties());
+        return Sort.by(direction, properties.toArray(String[]::new));
+    }
+
+    private static UserListIndex forOrder(UserSort.Property property) {
+        return switch (property) {
+            case ID -> PRIMARY_KEY;
+            case CREATED_AT -> CREATED_AT;
+            case EMAIL -> EMAIL;
+        };
+    }
+}
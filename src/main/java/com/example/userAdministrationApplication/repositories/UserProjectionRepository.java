@@ -0,0 +1,34 @@
+package com.example.userAdministrationApplication.repositories;
+
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Queries that select only the requested columns into {@link UserDto}s, so no entity is hydrated or tracked and the
+ * password hash is never read.
+ */
+public interface UserProjectionRepository {
+    /**
+     * Returns a slice of the users created after the given time, or of all users when it is {@code null}.
+     */
+    Slice<UserDto> findUsers(Set<UserField> fields, LocalDateTime createdAfter, Pageable pageable);
+
+    /**
+     * Returns a slice of the users matching the specification, in the order of the pageable's sort.
+     */
+    Slice<UserDto> findUsersMatching(Set<UserField> fields, Specification<UserEntity> specification, Pageable pageable);
+
+    /**
+     * Returns up to {@code limit} users ordered by creation time and id, starting after the given position, or from
+     * the first user when {@code createdAt} is {@code null}.
+     */
+    List<UserDto> findUsersAfter(Set<UserField> fields, LocalDateTime createdAt, long id, int limit);
+}
@@ -0,0 +1,100 @@
+package com.example.userAdministrationApplication.repositories;
+
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public class UserProjectionRepositoryImpl implements UserProjectionRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<UserDto> findUsers(Set<UserField> fields, LocalDateTime createdAfter, Pageable pageable) {
+        return findUsersMatching(fields, createdAfter == null ? null : UserSpecifications.createdAfter(createdAfter), pageable);
+    }
+
+    @Override
+    public Slice<UserDto> findUsersMatching(Set<UserField> fields, Specification<UserEntity> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(builder, fields);
+        @SuppressWarnings("unchecked")
+        Root<UserEntity> user = (Root<UserEntity>) query.getRoots().iterator().next();
+        Predicate predicate = specification == null ? null : specification.toPredicate(user, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), user, builder));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            // One extra row is fetched only to find out whether another page exists
+            typedQuery.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize() + 1);
+        }
+        List<UserDto> users = toUsers(typedQuery.getResultList(), fields);
+        boolean hasNext = pageable.isPaged() && users.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+    }
+
+    @Override
+    public List<UserDto> findUsersAfter(Set<UserField> fields, LocalDateTime createdAt, long id, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = select(builder, fields);
+        Root<?> user = query.getRoots().iterator().next();
+        Path<LocalDateTime> userCreatedAt = user.get("createdAt");
+        Path<Long> userId = user.get("id");
+        if (createdAt != null) {
+            // Same as "created_at > :createdAt or (created_at = :createdAt and id > :id)", but the leading range
+            // lets the (created_at, id) index seek to the cursor instead of walking from the first user
+            query.where(
+                    builder.greaterThanOrEqualTo(userCreatedAt, createdAt),
+                    builder.or(builder.greaterThan(userCreatedAt, createdAt), builder.greaterThan(userId, id))
+            );
+        }
+        query.orderBy(builder.asc(userCreatedAt), builder.asc(userId));
+
+        return toUsers(entityManager.createQuery(query).setMaxResults(limit).getResultList(), fields);
+    }
+
+    private CriteriaQuery<Tuple> select(CriteriaBuilder builder, Set<UserField> fields) {
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<UserEntity> user = query.from(UserEntity.class);
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> user.get(field.getName()).alias(field.getName()))
+                .toList());
+        return query;
+    }
+
+    private List<UserDto> toUsers(List<Tuple> rows, Set<UserField> fields) {
+        return rows.stream()
+                .map(row -> {
+                    UserDto user = new UserDto();
+                    fields.forEach(field -> field.set(user, row.get(field.getName())));
+                    return user;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.userAdministrationApplication.repositories;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserSpecifications {
+    public static Specification<UserEntity> isActive(boolean active) {
+        return (user, query, builder) -> builder.equal(user.get("active"), active);
+    }
+
+    public static Specification<UserEntity> createdAfter(LocalDateTime dateTime) {
+        return (user, query, builder) -> builder.greaterThan(user.get("createdAt"), dateTime);
+    }
+
+    public static Specification<UserEntity> createdFrom(LocalDateTime dateTime) {
+        return (user, query, builder) -> builder.greaterThanOrEqualTo(user.get("createdAt"), dateTime);
+    }
+
+    public static Specification<UserEntity> createdBefore(LocalDateTime dateTime) {
+        return (user, query, builder) -> builder.lessThan(user.get("createdAt"), dateTime);
+    }
+
+    /**
+     * Compares with the generated domain column rather than matching {@code '%@' || domain} on the email, which
+     * no index can serve.
+     */
+    public static Specification<UserEntity> hasEmailDomain(String domain) {
+        return (user, query, builder) -> builder.equal(user.get("emailDomain"), domain);
+    }
+
+    public static Specification<UserEntity> matching(UserFilter filter) {
+        List<Specification<UserEntity>> specifications = new ArrayList<>();
+        if (filter.getActive() != null) {
+            specifications.add(isActive(filter.getActive()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            specifications.add(createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            specifications.add(createdBefore(filter.getCreatedTo()));
+        }
+        if (filter.getEmailDomain() != null) {
+            specifications.add(hasEmailDomain(filter.getEmailDomain()));
+        }
+        return Specification.allOf(specifications);
+    }
+}
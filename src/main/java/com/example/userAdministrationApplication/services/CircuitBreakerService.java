@@ -0,0 +1,17 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.CircuitBreakerStateDto;
+
+public interface CircuitBreakerService {
+    void acquirePermission();
+
+    void onSuccess();
+
+    void onFailure();
+
+    boolean shouldRetry(Throwable e);
+
+    CircuitBreakerStateDto getState();
+
+    void reset();
+}
@@ -0,0 +1,210 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.CircuitBreakerProperties;
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
+import com.example.userAdministrationApplication.modules.dtos.CircuitBreakerStateDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} repository calls, plus a retry budget.
+ * Closed: every call is allowed. Open: every call fails immediately until {@code openDuration} has passed.
+ * Half open: {@code halfOpenCalls} trial calls are let through, and all of them must succeed to close again.
+ * The retry budget is a token bucket refilled by every call, so retries can never multiply the load on a
+ * struggling data base by more than {@code retryBudgetRatio}.
+ */
+@Service("circuitBreakerService")
+public class CircuitBreakerServiceImpl implements CircuitBreakerService {
+    private final static String RETRY_DECISION = "circuitBreaker.retryDecision";
+    // Tokens are kept in thousandths so the bucket can be a lock-free long
+    private final static long TOKEN = 1000;
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private record RetryDecision(Throwable cause, boolean retry) {
+    }
+
+    private final CircuitBreakerProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] outcomes;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+    private final AtomicLong retryTokens;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int nextOutcome;
+    private volatile State state = State.CLOSED;
+    private volatile long openUntilNanos;
+    final static Logger logger = LoggerFactory.getLogger(CircuitBreakerServiceImpl.class);
+
+    public CircuitBreakerServiceImpl(CircuitBreakerProperties properties) {
+        this.properties = properties;
+        this.outcomes = new boolean[properties.getWindowSize()];
+        this.retryTokens = new AtomicLong(properties.getRetryBudgetMaxTokens() * TOKEN);
+    }
+
+    @Override
+    public void acquirePermission() {
+        if (state == State.OPEN) {
+            long remaining = openUntilNanos - System.nanoTime();
+            if (remaining > 0) {
+                throw new CircuitBreakerOpenException(Duration.ofNanos(remaining));
+            }
+            transitionToHalfOpen();
+        }
+        if (state == State.HALF_OPEN && halfOpenPermits.decrementAndGet() < 0) {
+            throw new CircuitBreakerOpenException(properties.getOpenDuration());
+        }
+    }
+
+    @Override
+    public void onSuccess() {
+        depositRetryToken();
+        if (state == State.HALF_OPEN) {
+            if (halfOpenSuccesses.incrementAndGet() >= properties.getHalfOpenCalls()) {
+                transitionToClosed();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    @Override
+    public void onFailure() {
+        depositRetryToken();
+        if (state == State.HALF_OPEN) {
+            transitionToOpen();
+            return;
+        }
+        record(true);
+    }
+
+    /**
+     * Used as the {@code exceptionExpression} of the service retries. Spring Retry evaluates it more than once
+     * for the same failure, so the decision is remembered on the retry context to spend one token per retry.
+     */
+    @Override
+    public boolean shouldRetry(Throwable e) {
+        RetryContext context = RetrySynchronizationManager.getContext();
+        if (context != null && context.getAttribute(RETRY_DECISION) instanceof RetryDecision decision
+                && decision.cause() == e) {
+            return decision.retry();
+        }
+
+        boolean retry = !(e instanceof CircuitBreakerOpenException) && state == State.CLOSED && withdrawRetryToken();
+        if (context != null) {
+            context.setAttribute(RETRY_DECISION, new RetryDecision(e, retry));
+        }
+        return retry;
+    }
+
+    @Override
+    public CircuitBreakerStateDto getState() {
+        lock.lock();
+        try {
+            return new CircuitBreakerStateDto(
+                    state.name(),
+                    bufferedCalls,
+                    failedCalls,
+                    bufferedCalls == 0 ? 0 : (double) failedCalls / bufferedCalls,
+                    state == State.OPEN ? Math.max(0, Duration.ofNanos(openUntilNanos - System.nanoTime()).toMillis()) : 0,
+                    (double) retryTokens.get() / TOKEN
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        transitionToClosed();
+        retryTokens.set(properties.getRetryBudgetMaxTokens() * TOKEN);
+    }
+
+    private void record(boolean failed) {
+        lock.lock();
+        try {
+            if (bufferedCalls == outcomes.length) {
+                if (outcomes[nextOutcome]) {
+                    failedCalls--;
+                }
+            } else {
+                bufferedCalls++;
+            }
+            outcomes[nextOutcome] = failed;
+            if (failed) {
+                failedCalls++;
+            }
+            nextOutcome = (nextOutcome + 1) % outcomes.length;
+
+            if (state == State.CLOSED
+                    && bufferedCalls >= properties.getMinimumCalls()
+                    && failedCalls >= bufferedCalls * properties.getFailureRateThreshold()) {
+                transitionToOpen();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionToOpen() {
+        lock.lock();
+        try {
+            openUntilNanos = System.nanoTime() + properties.getOpenDuration().toNanos();
+            if (state != State.OPEN) {
+                logger.warn("Data base circuit breaker opened, {} of {} recent calls failed", failedCalls, bufferedCalls);
+            }
+            state = State.OPEN;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionToHalfOpen() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && openUntilNanos - System.nanoTime() <= 0) {
+                halfOpenPermits.set(properties.getHalfOpenCalls());
+                halfOpenSuccesses.set(0);
+                state = State.HALF_OPEN;
+                logger.info("Data base circuit breaker half open, letting {} trial calls through", properties.getHalfOpenCalls());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionToClosed() {
+        lock.lock();
+        try {
+            if (state != State.CLOSED) {
+                logger.info("Data base circuit breaker closed");
+            }
+            bufferedCalls = 0;
+            failedCalls = 0;
+            nextOutcome = 0;
+            state = State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void depositRetryToken() {
+        long deposit = (long) (properties.getRetryBudgetRatio() * TOKEN);
+        long max = properties.getRetryBudgetMaxTokens() * TOKEN;
+        retryTokens.getAndUpdate(tokens -> Math.min(max, tokens + deposit));
+    }
+
+    private boolean withdrawRetryToken() {
+        long previous = retryTokens.getAndUpdate(tokens -> tokens >= TOKEN ? tokens - TOKEN : tokens);
+        return previous >= TOKEN;
+    }
+}
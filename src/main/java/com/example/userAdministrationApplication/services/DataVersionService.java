@@ -0,0 +1,9 @@
+package com.example.userAdministrationApplication.services;
+
+public interface DataVersionService {
+    boolean isEnabled();
+
+    String getVersion();
+
+    void onChanged();
+}
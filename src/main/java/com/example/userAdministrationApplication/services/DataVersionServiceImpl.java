@@ -0,0 +1,43 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.DataVersionProperties;
+import com.example.userAdministrationApplication.utils.TransactionUtil;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the users table as seen by this instance, used as the ETag of the list endpoints.
+ * It is bumped once a change commits, so a response read under version N can only be older than N's data, never newer;
+ * the worst case is one extra full response. The version starts with a random instance id, so two instances behind
+ * a load balancer never hand out the same ETag for different data.
+ * Nothing is persisted, so the version is valid for this instance only: writes made through another instance do not
+ * change it until a counters reconciliation notices them. Such deployments turn it off with
+ * {@code user-administration.data-version.enabled=false}.
+ */
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+    private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+    private final DataVersionProperties properties;
+
+    public DataVersionServiceImpl(DataVersionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public String getVersion() {
+        return instanceId + "-" + version.get();
+    }
+
+    @Override
+    public void onChanged() {
+        TransactionUtil.afterCommit(version::incrementAndGet);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.userAdministrationApplication.services;
+
+public interface DeactivationBufferService {
+    /**
+     * Deactivates the user, through the buffer when write-behind is enabled.
+     * Returns {@code true} once the deactivation is written, or {@code false} when it was only queued because the
+     * caller asked for acknowledgement on enqueue.
+     */
+    boolean deactivate(long id, boolean acknowledgeOnEnqueue);
+
+    int getPending();
+
+    void flush();
+}
@@ -0,0 +1,196 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.DeactivationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces single deactivations into batched UPDATEs. Pending ids are kept in a concurrent map, so an id requested
+ * again before its flush shares the pending write, and one flush thread writes them through
+ * {@link UserAdministrationService#deactivateUsers(List)} once the batch size is reached or the flush interval passes.
+ * A deactivation acknowledged on enqueue is lost if the process dies before the flush, and one whose batch fails
+ * after its retries is only logged; callers that need the write to be durable wait for it.
+ */
+@Service
+public class DeactivationBufferServiceImpl implements DeactivationBufferService {
+    private final UserAdministrationService userAdministrationService;
+    private final DeactivationProperties properties;
+    private final Map<Long, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile ScheduledThreadPoolExecutor flusher;
+    private final DistributionSummary batchSizes;
+    private volatile boolean closed;
+    final static Logger logger = LoggerFactory.getLogger(DeactivationBufferServiceImpl.class);
+
+    public DeactivationBufferServiceImpl(UserAdministrationService userAdministrationService,
+                                         DeactivationProperties properties,
+                                         MeterRegistry meterRegistry) {
+        this.userAdministrationService = userAdministrationService;
+        this.properties = properties;
+        this.batchSizes = DistributionSummary.builder("user.deactivation.batch.size")
+                .description("Number of deactivations written by one flush of the buffer")
+                .register(meterRegistry);
+        Gauge.builder("user.deactivation.pending", pending, Map::size)
+                .description("Deactivations waiting in the buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the flush thread once the bean is fully built. Until then deactivations are written directly.
+     * If the context fails to start after this, {@link #shutdown()} still stops the thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isWriteBehind()) {
+            return;
+        }
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("deactivation-flush").daemon(true).factory());
+        long interval = properties.getFlushInterval().toNanos();
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+        flusher = executor;
+    }
+
+    @Override
+    public boolean deactivate(long id, boolean acknowledgeOnEnqueue) {
+        // A full buffer pushes back on its callers by making them write their own deactivation
+        if (flusher == null || closed || (pending.size() >= properties.getMaximumPending() && !pending.containsKey(id))) {
+            userAdministrationService.deactivateUser(id);
+            return true;
+        }
+
+        CompletableFuture<Void> written = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+        if (closed) {
+            // Shutdown started after the check above and may already have drained the buffer
+            flush();
+        } else if (pending.size() >= properties.getBatchSize()) {
+            requestFlush();
+        }
+
+        if (acknowledgeOnEnqueue) {
+            return false;
+        }
+        await(written);
+        return true;
+    }
+
+    @Override
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Writes everything buffered so far on the calling thread, one batch at a time.
+     * Several threads may flush at once, each id is taken out of the buffer by exactly one of them.
+     */
+    @Override
+    public void flush() {
+        List<Long> ids = new ArrayList<>(properties.getBatchSize());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(properties.getBatchSize());
+        while (!pending.isEmpty()) {
+            Iterator<Long> keys = pending.keySet().iterator();
+            while (keys.hasNext() && ids.size() < properties.getBatchSize()) {
+                Long id = keys.next();
+                CompletableFuture<Void> future = pending.remove(id);
+                if (future != null) {
+                    ids.add(id);
+                    futures.add(future);
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            write(ids, futures);
+            ids.clear();
+            futures.clear();
+        }
+    }
+
+    private void write(List<Long> ids, List<CompletableFuture<Void>> futures) {
+        batchSizes.record(ids.size());
+        try {
+            // Chunked, retried, and applied to the cache, counters and data version like any bulk deactivation
+            int updated = userAdministrationService.deactivateUsers(List.copyOf(ids));
+            logger.info("Flushed {} buffered deactivations, {} users deactivated", ids.size(), updated);
+            futures.forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} buffered deactivations", ids.size(), e);
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void requestFlush() {
+        // One queued flush drains the whole buffer, so a burst of callers past the batch size queues only one
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushRequested.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled flush for good
+            logger.error("Failed to flush buffered deactivations", e);
+        }
+    }
+
+    private void await(CompletableFuture<Void> written) {
+        try {
+            written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a buffered deactivation", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException("Buffered deactivation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs before the repository and transaction manager are destroyed, since this bean depends on them,
+     * so pending deactivations are still written.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        closed = true;
+        flusher.shutdown();
+        if (!flusher.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("Deactivation flush did not finish within {}", properties.getShutdownTimeout());
+        }
+        int remaining = pending.size();
+        flush();
+        if (remaining > 0) {
+            logger.info("Wrote {} buffered deactivations on shutdown", remaining);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.userAdministrationApplication.services;
+
+public interface EmailFilterService {
+    boolean mightExist(String email);
+
+    void add(String email);
+
+    void onUsersDeleted(long count);
+
+    void rebuild();
+}
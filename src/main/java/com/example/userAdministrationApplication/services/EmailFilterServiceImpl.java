@@ -0,0 +1,130 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.EmailFilterProperties;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a Bloom filter of every normalized email, so signups with a new email skip the existence lookup.
+ * A Bloom filter cannot forget, so deleted emails stay "maybe present" until the next rebuild; that only costs
+ * an extra lookup, because every positive answer is confirmed against the data base.
+ * Until the first build finishes every email is reported as maybe present.
+ */
+@Service
+public class EmailFilterServiceImpl implements EmailFilterService {
+    private final UserAdministrationRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmailFilterProperties properties;
+    private final AtomicLong insertions = new AtomicLong();
+    private final AtomicLong deletions = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile long capacity;
+    final static Logger logger = LoggerFactory.getLogger(EmailFilterServiceImpl.class);
+
+    public EmailFilterServiceImpl(UserAdministrationRepository repository,
+                                  PlatformTransactionManager transactionManager,
+                                  EmailFilterProperties properties) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(UserEntity.normalizeEmail(email));
+    }
+
+    @Override
+    public void add(String email) {
+        String normalized = UserEntity.normalizeEmail(email);
+        // Read the filter being built first: if a rebuild starts after this read, its scan already sees the row
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(normalized);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(normalized);
+        }
+
+        if (insertions.incrementAndGet() > capacity && current != null) {
+            logger.info("Email filter is over its capacity of {}, rebuilding", capacity);
+            rebuildInBackground();
+        }
+    }
+
+    @Override
+    public void onUsersDeleted(long count) {
+        if (count > 0 && deletions.addAndGet(count) > insertions.get() * properties.getRebuildDeletedRatio()) {
+            logger.info("{} users deleted since the last email filter build, rebuilding", deletions.get());
+            rebuildInBackground();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        try {
+            long users = repository.count();
+            long newCapacity = Math.max(properties.getExpectedInsertions(), users * 2);
+            BloomFilter next = new BloomFilter(newCapacity, properties.getFalsePositiveProbability());
+            building = next;
+
+            Long loaded = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<String> emails = repository.streamAllEmails()) {
+                    for (String email : (Iterable<String>) emails::iterator) {
+                        next.put(UserEntity.normalizeEmail(email));
+                        count++;
+                    }
+                }
+                return count;
+            });
+
+            filter = next;
+            capacity = newCapacity;
+            insertions.set(loaded == null ? 0 : loaded);
+            deletions.set(0);
+            logger.info("Email filter built from {} users, {} bits and {} hash functions",
+                    loaded, next.bitCount(), next.hashFunctions());
+        } catch (DataAccessException e) {
+            logger.error("Failed to build email filter, every signup is checked against the data base", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("email-filter-rebuild").daemon(true).start(() -> {
+            try {
+                rebuild();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+}
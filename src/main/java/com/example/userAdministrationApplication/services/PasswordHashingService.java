@@ -0,0 +1,13 @@
+package com.example.userAdministrationApplication.services;
+
+import java.util.List;
+
+public interface PasswordHashingService {
+    String encode(String rawPassword);
+
+    List<String> encodeAll(List<String> rawPasswords);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,183 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.HashingProperties;
+import com.example.userAdministrationApplication.exceptions.HashingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a fixed-size pool with a bounded queue, so that hashing never holds a data base connection
+ * and a signup or login burst is rejected quickly instead of piling up behind the CPU.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Timer verifyTimer;
+    private volatile String absentUserHash;
+    final static Logger logger = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      HashingProperties hashingProperties,
+                                      MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = hashingProperties.getTimeout();
+        this.hashTimer = Timer.builder("password.hash")
+                .description("Time spent computing a password hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("Time a password waited in the hashing queue before a thread picked it up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.verify")
+                .description("Time spent checking a password against its hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(
+                hashingProperties.getThreads(),
+                hashingProperties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingProperties.getQueueCapacity()),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return submit(() -> hash(rawPassword), "hashing");
+    }
+
+    /**
+     * Verification costs as much as hashing, so it shares the pool, its queue limit and its timeout.
+     */
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            // Costs the same as a real check, so callers can hide whether there was a hash to check against
+            String absentHash = absentUserHash();
+            submit(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, absentHash)), "verification");
+            return false;
+        }
+        return submit(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)), "verification");
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public List<String> encodeAll(List<String> rawPasswords) {
+        // Bulk callers keep at most one task per hashing thread in flight, so interactive signups are never
+        // queued behind a whole import batch; when the pool is saturated the caller hashes on its own thread.
+        String[] hashes = new String[rawPasswords.size()];
+        Deque<Future<?>> inFlight = new ArrayDeque<>();
+
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            if (inFlight.size() >= executor.getMaximumPoolSize()) {
+                await(inFlight.poll());
+            }
+
+            int index = i;
+            Runnable task = () -> hashes[index] = hash(rawPasswords.get(index));
+            try {
+                inFlight.add(executor.submit(task));
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+
+        while (!inFlight.isEmpty()) {
+            await(inFlight.poll());
+        }
+        return Arrays.asList(hashes);
+    }
+
+    private <T> T submit(Callable<T> task, String operation) {
+        Future<T> future;
+        try {
+            long submittedAt = System.nanoTime();
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejecting password {}, {} tasks already queued", operation, executor.getQueue().size());
+            throw new HashingOverloadedException();
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Password {} did not finish within {}", operation, timeout);
+            throw new HashingOverloadedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new HashingOverloadedException();
+        } catch (ExecutionException e) {
+            throw asRuntimeException(e);
+        }
+    }
+
+    private String absentUserHash() {
+        // Computed on first use rather than at startup; two threads racing here only hash twice
+        if (absentUserHash == null) {
+            absentUserHash = submit(() -> passwordEncoder.encode(UUID.randomUUID().toString()), "hashing");
+        }
+        return absentUserHash;
+    }
+
+    private String hash(String rawPassword) {
+        return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingOverloadedException();
+        } catch (ExecutionException e) {
+            throw asRuntimeException(e);
+        }
+    }
+
+    private RuntimeException asRuntimeException(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Password hashing failed", e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
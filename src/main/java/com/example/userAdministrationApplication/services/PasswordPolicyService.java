@@ -0,0 +1,10 @@
+package com.example.userAdministrationApplication.services;
+
+import java.util.Optional;
+
+public interface PasswordPolicyService {
+    /**
+     * Returns why {@code password} does not satisfy the policy for the domain of {@code email}, or empty when it does.
+     */
+    Optional<String> validate(String email, String password);
+}
@@ -0,0 +1,131 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.PasswordPolicyProperties;
+import com.example.userAdministrationApplication.utils.DomainTrie;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiles the configured password rules once: each rule becomes a set of flags and an ASCII lookup table, checked in
+ * a single pass over the password, and domain rules are indexed in a {@link DomainTrie}.
+ */
+@Service
+public class PasswordPolicyServiceImpl implements PasswordPolicyService {
+    private final Rule defaultRule;
+    private final DomainTrie<Rule> domainRules = new DomainTrie<>();
+
+    public PasswordPolicyServiceImpl(PasswordPolicyProperties properties) {
+        this.defaultRule = new Rule(
+                null,
+                properties.getMinLength(),
+                properties.isRequireUppercase(),
+                properties.isRequireLowercase(),
+                properties.isRequireDigit(),
+                properties.isRequireSpecial(),
+                properties.getSpecialCharacters());
+        for (Map.Entry<String, PasswordPolicyProperties.DomainRule> entry : properties.getDomains().entrySet()) {
+            PasswordPolicyProperties.DomainRule domainRule = entry.getValue();
+            domainRules.put(entry.getKey(), new Rule(
+                    entry.getKey(),
+                    orDefault(domainRule.getMinLength(), properties.getMinLength()),
+                    orDefault(domainRule.getRequireUppercase(), properties.isRequireUppercase()),
+                    orDefault(domainRule.getRequireLowercase(), properties.isRequireLowercase()),
+                    orDefault(domainRule.getRequireDigit(), properties.isRequireDigit()),
+                    orDefault(domainRule.getRequireSpecial(), properties.isRequireSpecial()),
+                    orDefault(domainRule.getSpecialCharacters(), properties.getSpecialCharacters())));
+        }
+    }
+
+    @Override
+    public Optional<String> validate(String email, String password) {
+        Rule domainRule = domainRules.findByEmail(email);
+        Rule rule = domainRule != null ? domainRule : defaultRule;
+        return rule.accepts(password) ? Optional.empty() : Optional.of(rule.message);
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static class Rule {
+        private final int minLength;
+        private final boolean requireUppercase;
+        private final boolean requireLowercase;
+        private final boolean requireDigit;
+        private final boolean requireSpecial;
+        private final boolean[] special = new boolean[128];
+        private final String message;
+
+        private Rule(String domain,
+                     int minLength,
+                     boolean requireUppercase,
+                     boolean requireLowercase,
+                     boolean requireDigit,
+                     boolean requireSpecial,
+                     String specialCharacters) {
+            this.minLength = minLength;
+            this.requireUppercase = requireUppercase;
+            this.requireLowercase = requireLowercase;
+            this.requireDigit = requireDigit;
+            this.requireSpecial = requireSpecial;
+            specialCharacters.chars().filter(c -> c < 128).forEach(c -> special[c] = true);
+            this.message = message(domain, specialCharacters);
+        }
+
+        private boolean accepts(String password) {
+            if (password == null || password.length() < minLength) {
+                return false;
+            }
+            boolean uppercase = false;
+            boolean lowercase = false;
+            boolean digit = false;
+            boolean specialCharacter = false;
+            for (int i = 0; i < password.length(); i++) {
+                char c = password.charAt(i);
+                if (c >= 'A' && c <= 'Z') {
+                    uppercase = true;
+                } else if (c >= 'a' && c <= 'z') {
+                    lowercase = true;
+                } else if (c >= '0' && c <= '9') {
+                    digit = true;
+                } else if (c < 128 && special[c]) {
+                    specialCharacter = true;
+                } else if (Character.isWhitespace(c)) {
+                    return false;
+                }
+            }
+            return (uppercase || !requireUppercase)
+                    && (lowercase || !requireLowercase)
+                    && (digit || !requireDigit)
+                    && (specialCharacter || !requireSpecial);
+        }
+
+        private String message(String domain, String specialCharacters) {
+            List<String> required = new ArrayList<>();
+            if (requireUppercase) required.add("an uppercase letter");
+            if (requireLowercase) required.add("a lowercase letter");
+            if (requireDigit) required.add("a digit");
+            if (requireSpecial) required.add("one of " + specialCharacters);
+
+            StringBuilder message = new StringBuilder("Password");
+            if (domain != null) {
+                message.append(" for users with email domain \"").append(domain).append('"');
+            }
+            message.append(" must be at least ").append(minLength).append(" characters long");
+            if (!required.isEmpty()) {
+                message.append(", contain ");
+                for (int i = 0; i < required.size(); i++) {
+                    if (i > 0) {
+                        message.append(i == required.size() - 1 ? " and " : ", ");
+                    }
+                    message.append(required.get(i));
+                }
+            }
+            return message.append(" and have no whitespace").toString();
+        }
+    }
+}
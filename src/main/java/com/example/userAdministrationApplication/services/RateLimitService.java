@@ -0,0 +1,16 @@
+package com.example.userAdministrationApplication.services;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface RateLimitService {
+    /**
+     * Endpoint types that get separate buckets per client.
+     */
+    enum Type { READ, WRITE, AUTHENTICATE }
+
+    /**
+     * Takes a token from the client's bucket, or returns how long the client has to wait when it is empty.
+     */
+    Optional<Duration> tryAcquire(String client, Type type);
+}
@@ -0,0 +1,81 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.RateLimitProperties;
+import com.example.userAdministrationApplication.utils.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps one token bucket per client and endpoint type in bounded Caffeine caches, whose concurrent maps keep lookups
+ * from contending on a single lock. A bucket left idle for as long as it takes to refill is full again, so it is
+ * evicted after that time without changing any decision.
+ */
+@Service
+public class RateLimitServiceImpl implements RateLimitService {
+    private final RateLimitProperties properties;
+    private final Map<Type, Cache<String, TokenBucket>> buckets = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> rejections = new EnumMap<>(Type.class);
+
+    public RateLimitServiceImpl(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Type type : Type.values()) {
+            buckets.put(type, buckets(capacity(type), refillPerSecond(type)));
+            rejections.put(type, rejections(meterRegistry, type.name().toLowerCase()));
+        }
+    }
+
+    @Override
+    public Optional<Duration> tryAcquire(String client, Type type) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(type).get(client, key -> new TokenBucket(capacity(type), refillPerSecond(type), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            return Optional.empty();
+        }
+        rejections.get(type).increment();
+        return Optional.of(Duration.ofNanos(waitNanos));
+    }
+
+    private int capacity(Type type) {
+        return switch (type) {
+            case READ -> properties.getReadCapacity();
+            case WRITE -> properties.getWriteCapacity();
+            case AUTHENTICATE -> properties.getAuthenticateCapacity();
+        };
+    }
+
+    private double refillPerSecond(Type type) {
+        return switch (type) {
+            case READ -> properties.getReadRefillPerSecond();
+            case WRITE -> properties.getWriteRefillPerSecond();
+            case AUTHENTICATE -> properties.getAuthenticateRefillPerSecond();
+        };
+    }
+
+    private Cache<String, TokenBucket> buckets(int capacity, double refillPerSecond) {
+        Duration timeToRefill = Duration.ofNanos((long) Math.ceil(capacity / refillPerSecond * 1_000_000_000L));
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(timeToRefill)
+                .build();
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("user.rate.limit.rejections")
+                .description("Requests rejected because the client used up its rate limit")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface RecentUsersService {
+    Optional<GetUsersResponse> getCreatedAfter(LocalDateTime after, int page, int limit);
+
+    Optional<GetUsersCursorResponse> getCreatedAfter(CursorUtil.Cursor after, int limit);
+
+    Optional<LocalDateTime> getFirstCreatedAfter(LocalDateTime after);
+
+    void add(UserDto user);
+
+    void deactivate(Collection<Long> ids);
+
+    void remove(Collection<Long> ids);
+
+    void invalidate();
+
+    void rebuild();
+
+    boolean isWarm();
+}
@@ -0,0 +1,407 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.RecentUsersProperties;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.ConvertorUtil;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+import com.example.userAdministrationApplication.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the users created in the last 24 hours plus a margin in a ring buffer ordered by creation time and id,
+ * so the "created in the last day" pages and their exact totals are answered with a binary search and a copy of
+ * one page instead of a scan of {@code created_at} and a COUNT.
+ * New users are appended at the tail and expired ones dropped from the head; deactivations and deletes are applied
+ * once their transaction commits. Batch imports carry no ids, so they make the window cold until it is reloaded.
+ * While the window is cold every request returns {@link Optional#empty()} and the caller reads the data base.
+ */
+@Service
+public class RecentUsersServiceImpl implements RecentUsersService {
+    private final static Duration WINDOW = Duration.ofHours(24);
+    private final static Comparator<UserDto> ORDER = Comparator.comparing(UserDto::getCreatedAt)
+            .thenComparing(UserDto::getId);
+
+    private final UserAdministrationRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RecentUsersProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final Map<Long, UserDto> byId = new HashMap<>();
+    private UserDto[] ring = new UserDto[1024];
+    private int head;
+    private int size;
+    // Every user created after this instant is in the window
+    private LocalDateTime coveredFrom;
+    private boolean warm;
+    // Changes made while a rebuild reads the data base, replayed once it finishes
+    private List<Runnable> pending;
+    private long generation;
+    final static Logger logger = LoggerFactory.getLogger(RecentUsersServiceImpl.class);
+
+    public RecentUsersServiceImpl(UserAdministrationRepository repository,
+                                  PlatformTransactionManager transactionManager,
+                                  RecentUsersProperties properties) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    @Override
+    public Optional<GetUsersResponse> getCreatedAfter(LocalDateTime after, int page, int limit) {
+        if (page < 0 || limit < 1) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!covers(after)) {
+                return Optional.empty();
+            }
+            int from = indexAfter(after, Long.MAX_VALUE);
+            long total = size - from;
+            long offset = from + (long) page * limit;
+            List<UserDto> users = copyRange(offset, Math.min(offset + limit, size));
+            return Optional.of(new GetUsersResponse(users, total, (int) ((total + limit - 1) / limit), offset + limit < size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<GetUsersCursorResponse> getCreatedAfter(CursorUtil.Cursor after, int limit) {
+        if (limit < 1) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!covers(after.createdAt())) {
+                return Optional.empty();
+            }
+            int from = indexAfter(after.createdAt(), after.id());
+            boolean hasNext = size - from > limit;
+            List<UserDto> users = copyRange(from, Math.min((long) from + limit, size));
+            String nextCursor = hasNext
+                    ? CursorUtil.encode(users.getLast().getCreatedAt(), users.getLast().getId())
+                    : null;
+            return Optional.of(new GetUsersCursorResponse(users, nextCursor));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the creation time of the first user created after {@code after}, which is the next user to leave a
+     * window starting there, or {@link LocalDateTime#MAX} when there is none. Empty while the window is cold.
+     */
+    @Override
+    public Optional<LocalDateTime> getFirstCreatedAfter(LocalDateTime after) {
+        lock.readLock().lock();
+        try {
+            if (!covers(after)) {
+                return Optional.empty();
+            }
+            int from = indexAfter(after, Long.MAX_VALUE);
+            return Optional.of(from < size ? get(from).getCreatedAt() : LocalDateTime.MAX);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(UserDto user) {
+        UserDto copy = copy(user);
+        TransactionUtil.afterCommit(() -> apply(() -> insert(copy)));
+    }
+
+    @Override
+    public void deactivate(Collection<Long> ids) {
+        List<Long> deactivated = List.copyOf(ids);
+        TransactionUtil.afterCommit(() -> apply(() -> deactivated.forEach(this::deactivateEntry)));
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        TransactionUtil.afterCommit(() -> apply(() -> removed.forEach(this::removeEntry)));
+    }
+
+    @Override
+    public void invalidate() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            generation++;
+            warm = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        stale.set(true);
+        TransactionUtil.afterCommit(this::rebuildInBackground);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            long startGeneration;
+            lock.writeLock().lock();
+            try {
+                startGeneration = generation;
+                pending = new ArrayList<>();
+                warm = false;
+                clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            LocalDateTime from = LocalDateTime.now().minus(WINDOW).minus(properties.getMargin());
+            List<UserEntity> users;
+            try {
+                users = readOnlyTransaction.execute(status -> repository.findByCreatedAtAfter(from));
+            } catch (DataAccessException e) {
+                logger.error("Failed to load recent users, requests are served from the data base", e);
+                users = null;
+            }
+
+            lock.writeLock().lock();
+            try {
+                List<Runnable> changes = pending;
+                pending = null;
+                if (users == null || generation != startGeneration) {
+                    return;
+                }
+                if (users.size() > properties.getMaximumSize()) {
+                    logger.warn("{} users created since {} exceed the recent users window of {}, requests are served from the data base",
+                            users.size(), from, properties.getMaximumSize());
+                    return;
+                }
+
+                coveredFrom = from;
+                users.stream()
+                        .map(ConvertorUtil::convertToUserDto)
+                        .sorted(ORDER)
+                        .forEach(this::insert);
+                changes.forEach(Runnable::run);
+                warm = true;
+                logger.info("Recent users window loaded with {} users created since {}", size, from);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isWarm() {
+        lock.readLock().lock();
+        try {
+            return warm;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("recent-users-rebuild").daemon(true).start(() -> {
+            try {
+                // Imports that finish while the window is being loaded mark it stale again, so loop until it is current
+                while (stale.getAndSet(false)) {
+                    rebuild();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+            if (stale.get()) {
+                rebuildInBackground();
+            }
+        });
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else if (warm) {
+                expire();
+                change.run();
+                if (size > properties.getMaximumSize()) {
+                    logger.warn("Recent users window is over its maximum size of {}, requests are served from the data base",
+                            properties.getMaximumSize());
+                    warm = false;
+                    clear();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean covers(LocalDateTime after) {
+        return warm && !after.isBefore(coveredFrom);
+    }
+
+    // The changes below must be idempotent, because a rebuild replays them over rows its scan may already have seen
+
+    private void insert(UserDto user) {
+        if (!user.getCreatedAt().isAfter(coveredFrom) || byId.containsKey(user.getId())) {
+            return;
+        }
+        if (size == ring.length) {
+            grow();
+        }
+
+        // Users almost always arrive in creation order, so the slot is found from the tail
+        int index = size;
+        while (index > 0 && ORDER.compare(get(index - 1), user) > 0) {
+            index--;
+        }
+        for (int i = size; i > index; i--) {
+            set(i, get(i - 1));
+        }
+        set(index, user);
+        size++;
+        byId.put(user.getId(), user);
+    }
+
+    private void deactivateEntry(long id) {
+        UserDto user = byId.get(id);
+        if (user != null) {
+            user.setActive(false);
+        }
+    }
+
+    private void removeEntry(long id) {
+        UserDto user = byId.remove(id);
+        if (user == null) {
+            return;
+        }
+
+        int index = indexAfter(user.getCreatedAt(), user.getId()) - 1;
+        for (int i = index; i < size - 1; i++) {
+            set(i, get(i + 1));
+        }
+        set(size - 1, null);
+        size--;
+    }
+
+    private void expire() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(WINDOW).minus(properties.getMargin());
+        while (size > 0 && !get(0).getCreatedAt().isAfter(cutoff)) {
+            byId.remove(get(0).getId());
+            set(0, null);
+            head = (head + 1) % ring.length;
+            size--;
+        }
+        if (cutoff.isAfter(coveredFrom)) {
+            coveredFrom = cutoff;
+        }
+    }
+
+    /**
+     * Returns the index of the first user ordered after the given creation time and id.
+     */
+    private int indexAfter(LocalDateTime createdAt, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            UserDto user = get(middle);
+            int compare = user.getCreatedAt().compareTo(createdAt);
+            if (compare < 0 || (compare == 0 && user.getId() <= id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private List<UserDto> copyRange(long from, long to) {
+        List<UserDto> users = new ArrayList<>((int) Math.max(0, to - from));
+        for (long i = from; i < to; i++) {
+            users.add(copy(get((int) i)));
+        }
+        return users;
+    }
+
+    private UserDto get(int index) {
+        return ring[(head + index) % ring.length];
+    }
+
+    private void set(int index, UserDto user) {
+        ring[(head + index) % ring.length] = user;
+    }
+
+    private void grow() {
+        UserDto[] grown = new UserDto[ring.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = get(i);
+        }
+        ring = grown;
+        head = 0;
+    }
+
+    private void clear() {
+        ring = new UserDto[1024];
+        head = 0;
+        size = 0;
+        byId.clear();
+    }
+
+    private UserDto copy(UserDto user) {
+        return new UserDto(
+                user.getId(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getActive(),
+                user.getCreatedAt()
+        );
+    }
+}
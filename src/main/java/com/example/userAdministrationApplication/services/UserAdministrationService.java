@@ -1,18 +1,46 @@
 package com.example.userAdministrationApplication.services;
 
+import com.example.userAdministrationApplication.modules.dtos.requests.AuthenticateRequest;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface UserAdministrationService {
     UserResponse createNewUser(CreateNewUserRequest user);
 
-    GetUsersResponse getAllUsers(int page, int limit);
+    UserResponse authenticate(AuthenticateRequest request);
+
+    GetUsersResponse getAllUsers(int page, int limit, boolean includeTotal, Set<UserField> fields);
+
+    GetUsersResponse getUsers(UserFilter filter, UserSort sort, int page, int limit, boolean includeTotal, Set<UserField> fields);
+
+    GetUsersCursorResponse getAllUsersAfter(CursorUtil.Cursor after, int limit, Set<UserField> fields);
+
+    UserResponse getUser(long id);
 
     void deactivateUser(long id);
 
+    int deactivateUsers(List<Long> ids);
+
     void deleteUser(long id);
 
-    GetUsersResponse getCreatedUsersLastDay(int page, int limit);
+    int deleteUsers(List<Long> ids);
+
+    GetUsersResponse getCreatedUsersLastDay(int page, int limit, boolean includeTotal, Set<UserField> fields);
+
+    GetUsersCursorResponse getCreatedUsersLastDayAfter(CursorUtil.Cursor after, int limit, Set<UserField> fields);
+
+    Optional<String> getUsersVersion();
+
+    Optional<String> getCreatedUsersLastDayVersion();
 
 }
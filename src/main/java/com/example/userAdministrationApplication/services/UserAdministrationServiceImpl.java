@@ -1,122 +1,463 @@
 package com.example.userAdministrationApplication.services;
 
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
 import com.example.userAdministrationApplication.exceptions.DbConnectionException;
+import com.example.userAdministrationApplication.exceptions.HashingOverloadedException;
+import com.example.userAdministrationApplication.exceptions.InvalidCredentialsException;
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
 import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.exceptions.UserNotFoundException;
 import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.AuthenticateRequest;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
 import com.example.userAdministrationApplication.modules.entities.UserEntity;
 import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.repositories.UserDeletionRepository.DeletedUsers;
+import com.example.userAdministrationApplication.repositories.UserListIndex;
+import com.example.userAdministrationApplication.repositories.UserSpecifications;
 import com.example.userAdministrationApplication.utils.ConvertorUtil;
-import com.example.userAdministrationApplication.utils.ValidationUtil;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.example.userAdministrationApplication.configurations.UserAdministrationConfiguration.USERS_CACHE;
 
 @Service
+@Timed(value = "user.service", description = "Service method calls", histogram = true)
 @AllArgsConstructor
 public class UserAdministrationServiceImpl implements UserAdministrationService {
+    // Keeps IN lists well below data base parameter limits and statement sizes the planner handles well
+    private final static int ID_CHUNK_SIZE = 1000;
+
     private final UserAdministrationRepository repository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final CacheManager cacheManager;
+    private final EmailFilterService emailFilterService;
+    private final RecentUsersService recentUsersService;
+    private final UserCountersService userCountersService;
+    private final DataVersionService dataVersionService;
+    private final UserSearchService userSearchService;
     final static Logger logger = LoggerFactory.getLogger(UserAdministrationServiceImpl.class);
 
     @Override
-    @Transactional
+    @CachePut(cacheNames = USERS_CACHE, key = "#result.user.id")
     @Retryable(retryFor = { DataAccessException.class },
             maxAttempts = 3,
-            noRetryFor = { UserAlreadyExistException.class },
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { UserAlreadyExistException.class, CircuitBreakerOpenException.class },
+            notRecoverable = {
+                    UserAlreadyExistException.class,
+                    HashingOverloadedException.class,
+                    CircuitBreakerOpenException.class
+            },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
     public UserResponse createNewUser(CreateNewUserRequest user) {
         logger.info("Creating new user with email {}", user.getEmail());
-        ValidationUtil.validatePasswordForSpecificUsers(user.getEmail(), user.getPassword());
-        UserEntity userEntity = new UserEntity(user, passwordEncoder);
+        // Only emails the filter has seen need a lookup, and a duplicate is rejected before BCrypt runs
+        if (emailFilterService.mightExist(user.getEmail())
+                && repository.existsByEmailNormalized(UserEntity.normalizeEmail(user.getEmail()))) {
+            throw new UserAlreadyExistException(user.getEmail());
+        }
+        // Not @Transactional on purpose: the hash is computed before save opens its transaction,
+        // so no connection is held for the duration of BCrypt
+        UserEntity userEntity = new UserEntity(user, passwordHashingService.encode(user.getPassword()));
 
         try {
             repository.save(userEntity);
         } catch (DataIntegrityViolationException e) {
             throw new UserAlreadyExistException(user.getEmail());
         }
+        emailFilterService.add(user.getEmail());
+        UserDto userDto = ConvertorUtil.convertToUserDto(userEntity);
+        recentUsersService.add(userDto);
+        userSearchService.add(userDto);
+        userCountersService.onCreated(1, userEntity.getCreatedAt());
+        dataVersionService.onChanged();
+        return new UserResponse(userDto);
+    }
+
+    @Override
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { InvalidCredentialsException.class, CircuitBreakerOpenException.class },
+            notRecoverable = {
+                    InvalidCredentialsException.class,
+                    HashingOverloadedException.class,
+                    CircuitBreakerOpenException.class
+            },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true),
+            recover = "recoverAuthenticate")
+    public UserResponse authenticate(AuthenticateRequest request) {
+        logger.info("Authenticating user with email {}", request.getEmail());
+        // Not @Transactional on purpose, like createNewUser: no connection is held while BCrypt runs
+        Optional<UserEntity> user = repository.findByEmailNormalized(UserEntity.normalizeEmail(request.getEmail()));
+        // An unknown email is still checked against a hash, so the response time does not reveal which emails exist
+        boolean matches = passwordHashingService.matches(request.getPassword(), user.map(UserEntity::getPassword).orElse(null));
+        if (!matches || !user.get().getActive()) {
+            throw new InvalidCredentialsException();
+        }
+
+        UserEntity userEntity = user.get();
+        if (passwordHashingService.needsRehash(userEntity.getPassword())) {
+            rehash(userEntity, request.getPassword());
+        }
         return new UserResponse(ConvertorUtil.convertToUserDto(userEntity));
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     @Retryable(retryFor = { DataAccessException.class },
             maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-    public GetUsersResponse getAllUsers(int page, int limit) {
-        logger.info("Getting all users with page {} and limit {}", page, limit);
-        Pageable pageable = PageRequest.of(page, limit);
-        Page<UserEntity> userPage = repository.findAll(pageable);
-
-        return new GetUsersResponse(
-                getUsersDto(userPage),
-                userPage.getTotalElements(),
-                userPage.getTotalPages()
-        );
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public GetUsersResponse getAllUsers(int page, int limit, boolean includeTotal, Set<UserField> fields) {
+        logger.info("Getting all users with page {}, limit {}, includeTotal {} and fields {}", page, limit, includeTotal, fields);
+        // A slice fetches one extra row instead of running a COUNT, the total comes from the counters when ready
+        Slice<UserDto> users = repository.findUsers(fields, null, PageRequest.of(page, limit));
+        Long totalCount = null;
+        if (includeTotal) {
+            totalCount = userCountersService.isReady() ? userCountersService.getTotal() : repository.count();
+        }
+        return getUsersResponse(users, totalCount, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { InvalidUserQueryException.class, CircuitBreakerOpenException.class },
+            notRecoverable = { InvalidUserQueryException.class, CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public GetUsersResponse getUsers(UserFilter filter, UserSort sort, int page, int limit, boolean includeTotal,
+                                     Set<UserField> fields) {
+        // Rejects combinations no index serves before any query runs
+        UserListIndex index = UserListIndex.forQuery(filter, sort);
+        logger.info("Getting users through {} with page {}, limit {}, includeTotal {} and fields {}",
+                index.getName(), page, limit, includeTotal, fields);
+        Specification<UserEntity> specification = UserSpecifications.matching(filter);
+        Sort order = index.toSort(sort == null ? Sort.Direction.ASC : sort.getDirection());
+        Slice<UserDto> users = repository.findUsersMatching(fields, specification, PageRequest.of(page, limit, order));
+        Long totalCount = includeTotal ? countMatching(filter, specification) : null;
+        return getUsersResponse(users, totalCount, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public GetUsersCursorResponse getAllUsersAfter(CursorUtil.Cursor after, int limit, Set<UserField> fields) {
+        logger.info("Getting all users after cursor {} with limit {} and fields {}", after, limit, fields);
+        List<UserDto> users = after == null
+                ? repository.findUsersAfter(withCursorFields(fields), null, 0, limit + 1)
+                : repository.findUsersAfter(withCursorFields(fields), after.createdAt(), after.id(), limit + 1);
+
+        return getUsersCursorResponse(users, limit, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id", sync = true)
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { UserNotFoundException.class, CircuitBreakerOpenException.class },
+            notRecoverable = { UserNotFoundException.class, CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public UserResponse getUser(long id) {
+        logger.info("Getting user with id {}", id);
+        UserEntity user = repository.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        return new UserResponse(ConvertorUtil.convertToUserDto(user));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     @Retryable(retryFor = { DataAccessException.class },
             maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
     public void deactivateUser(long id) {
         logger.info("Deactivate user with id {}", id);
-        repository.findById(id).ifPresent(user -> {
-            user.setActive(false);
-            repository.save(user);
-        });
+        int updated = repository.deactivateById(id);
+        if (updated == 0) {
+            logger.info("User with id {} does not exist or is already inactive, nothing to deactivate", id);
+            return;
+        }
+        recentUsersService.deactivate(List.of(id));
+        userSearchService.deactivate(List.of(id));
+        userCountersService.onDeactivated(updated);
+        dataVersionService.onChanged();
     }
 
     @Override
     @Transactional
     @Retryable(retryFor = { DataAccessException.class },
             maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true),
+            recover = "recoverDeactivateUsers")
+    public int deactivateUsers(List<Long> ids) {
+        logger.info("Deactivate {} users", ids.size());
+        int updated = 0;
+        for (List<Long> chunk : chunk(ids)) {
+            updated += repository.deactivateByIdIn(chunk);
+            evictUsers(chunk);
+            recentUsersService.deactivate(chunk);
+            userSearchService.deactivate(chunk);
+        }
+        userCountersService.onDeactivated(updated);
+        if (updated > 0) {
+            dataVersionService.onChanged();
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
     public void deleteUser(long id) {
         logger.info("Deleting user with id {}", id);
-        repository.deleteById(id);
+        List<Long> ids = List.of(id);
+        DeletedUsers deleted = repository.deleteByIdIn(ids);
+        emailFilterService.onUsersDeleted(deleted.deleted());
+        recentUsersService.remove(ids);
+        userSearchService.remove(ids);
+        userCountersService.onDeleted(deleted.activeDeleted(), deleted.createdAt());
+        if (deleted.deleted() > 0) {
+            dataVersionService.onChanged();
+        }
     }
 
     @Override
     @Transactional
     @Retryable(retryFor = { DataAccessException.class },
             maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-    public GetUsersResponse getCreatedUsersLastDay(int page, int limit) {
-        logger.info("Getting users created in last day with page {} and limit {}", page, limit);
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true),
+            recover = "recoverDeleteUsers")
+    public int deleteUsers(List<Long> ids) {
+        logger.info("Deleting {} users", ids.size());
+        int deleted = 0;
+        int activeDeleted = 0;
+        List<LocalDateTime> createdAt = new ArrayList<>();
+        for (List<Long> chunk : chunk(ids)) {
+            DeletedUsers chunkDeleted = repository.deleteByIdIn(chunk);
+            deleted += chunkDeleted.deleted();
+            activeDeleted += chunkDeleted.activeDeleted();
+            createdAt.addAll(chunkDeleted.createdAt());
+            evictUsers(chunk);
+            recentUsersService.remove(chunk);
+            userSearchService.remove(chunk);
+        }
+        emailFilterService.onUsersDeleted(deleted);
+        userCountersService.onDeleted(activeDeleted, createdAt);
+        if (deleted > 0) {
+            dataVersionService.onChanged();
+        }
+        return deleted;
+    }
+
+    @Override
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public GetUsersResponse getCreatedUsersLastDay(int page, int limit, boolean includeTotal, Set<UserField> fields) {
+        logger.info("Getting users created in last day with page {}, limit {}, includeTotal {} and fields {}",
+                page, limit, includeTotal, fields);
         LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
-        Pageable pageable = PageRequest.of(page, limit);
-        Page<UserEntity> userPage = repository.findByCreatedAtAfter(twentyFourHoursAgo, pageable);
+        // Not @Transactional on purpose: a warm window answers without touching a connection
+        Optional<GetUsersResponse> recentUsers = recentUsersService.getCreatedAfter(twentyFourHoursAgo, page, limit);
+        if (recentUsers.isPresent()) {
+            GetUsersResponse response = recentUsers.get();
+            response.getUser().forEach(user -> UserField.retain(user, fields));
+            if (!includeTotal) {
+                response.setTotalCount(null);
+                response.setTotalPages(null);
+            }
+            return response;
+        }
 
-        return new GetUsersResponse(
-                getUsersDto(userPage),
-                userPage.getTotalElements(),
-                userPage.getTotalPages()
+        Slice<UserDto> users = repository.findUsers(fields, twentyFourHoursAgo, PageRequest.of(page, limit));
+        Long totalCount = null;
+        if (includeTotal) {
+            // Counts whole hours, so it can include users created in the hour before the window
+            totalCount = userCountersService.isReady()
+                    ? userCountersService.getCreatedSince(twentyFourHoursAgo)
+                    : repository.countByCreatedAtAfter(twentyFourHoursAgo);
+        }
+        return getUsersResponse(users, totalCount, limit);
+    }
+
+    @Override
+    @Retryable(retryFor = { DataAccessException.class },
+            maxAttempts = 3,
+            exceptionExpression = "@circuitBreakerService.shouldRetry(#root)",
+            noRetryFor = { CircuitBreakerOpenException.class },
+            notRecoverable = { CircuitBreakerOpenException.class },
+            backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000, random = true))
+    public GetUsersCursorResponse getCreatedUsersLastDayAfter(CursorUtil.Cursor after, int limit, Set<UserField> fields) {
+        logger.info("Getting users created in last day after cursor {} with limit {} and fields {}", after, limit, fields);
+        LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
+        // A cursor older than the window start would leak older users, so clamp it to the window start
+        CursorUtil.Cursor seek = after == null || !after.createdAt().isAfter(twentyFourHoursAgo)
+                ? new CursorUtil.Cursor(twentyFourHoursAgo, Long.MAX_VALUE)
+                : after;
+        Optional<GetUsersCursorResponse> recentUsers = recentUsersService.getCreatedAfter(seek, limit);
+        if (recentUsers.isPresent()) {
+            GetUsersCursorResponse response = recentUsers.get();
+            response.getUser().forEach(user -> UserField.retain(user, fields));
+            return response;
+        }
+
+        List<UserDto> users = repository.findUsersAfter(withCursorFields(fields), seek.createdAt(), seek.id(), limit + 1);
+
+        return getUsersCursorResponse(users, limit, fields);
+    }
+
+    /**
+     * Re-encodes a verified password at the current strength. The login has already succeeded, so a busy hashing
+     * pool or a failed update only postpones the rehash to the next login.
+     */
+    private void rehash(UserEntity user, String rawPassword) {
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            if (repository.updatePassword(user.getId(), user.getPassword(), newHash) > 0) {
+                logger.info("Rehashed password of user with id {}", user.getId());
+            }
+        } catch (HashingOverloadedException | DataAccessException e) {
+            logger.warn("Could not rehash password of user with id {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<String> getUsersVersion() {
+        if (!dataVersionService.isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.of(dataVersionService.getVersion());
+    }
+
+    /**
+     * Users also leave the last day by growing older, so the version includes the creation time of the oldest one,
+     * which changes when it leaves. Without the in-memory window that is unknown and no version is given.
+     */
+    @Override
+    public Optional<String> getCreatedUsersLastDayVersion() {
+        if (!dataVersionService.isEnabled()) {
+            return Optional.empty();
+        }
+        String version = dataVersionService.getVersion();
+        return recentUsersService.getFirstCreatedAfter(LocalDateTime.now().minusHours(24))
+                .map(first -> version + "-" + (first.equals(LocalDateTime.MAX) ? "none" : first.toString()));
+    }
+
+    private GetUsersCursorResponse getUsersCursorResponse(List<UserDto> users, int limit, Set<UserField> fields) {
+        // One extra row is fetched only to find out whether another page exists
+        boolean hasNext = users.size() > limit;
+        List<UserDto> content = hasNext ? users.subList(0, limit) : users;
+        String nextCursor = hasNext ? CursorUtil.encode(content.getLast()) : null;
+
+        return new GetUsersCursorResponse(
+                content.stream().map(user -> UserField.retain(user, fields)).toList(),
+                nextCursor
         );
     }
 
-    private List<UserDto> getUsersDto(Page<UserEntity> userPage) {
-        return userPage.getContent()
-                .stream()
-                .map(ConvertorUtil::convertToUserDto)
-                .toList();
+    // The cursor is built from the creation time and id, so they are selected even when not requested
+    private Set<UserField> withCursorFields(Set<UserField> fields) {
+        EnumSet<UserField> selected = EnumSet.copyOf(fields);
+        selected.add(UserField.ID);
+        selected.add(UserField.CREATED_AT);
+        return selected;
+    }
+
+    private long countMatching(UserFilter filter, Specification<UserEntity> specification) {
+        // The counters know how many users are active, so only the other filters need a COUNT
+        if (userCountersService.isReady() && filter.getEmailDomain() == null && !filter.hasCreatedRange()) {
+            if (filter.getActive() == null) {
+                return userCountersService.getTotal();
+            }
+            return filter.getActive()
+                    ? userCountersService.getActive()
+                    : userCountersService.getTotal() - userCountersService.getActive();
+        }
+        return repository.count(specification);
+    }
+
+    private List<List<Long>> chunk(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size())));
+        }
+        return chunks;
+    }
+
+    private void evictUsers(List<Long> ids) {
+        // The cache is transaction aware, so these evictions only run once the bulk update commits
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private GetUsersResponse getUsersResponse(Slice<UserDto> users, Long totalCount, int limit) {
+        Integer totalPages = totalCount == null ? null : (int) ((totalCount + limit - 1) / limit);
+        return new GetUsersResponse(users.getContent(), totalCount, totalPages, users.hasNext());
     }
 
     @Recover
@@ -125,15 +466,45 @@ public class UserAdministrationServiceImpl implements UserAdministrationService
         throw new DbConnectionException(String.format("Failed to save user with email %s from data base", request.getEmail()));
     }
 
+    @Recover
+    public UserResponse recoverAuthenticate(DataAccessException e, AuthenticateRequest request) {
+        logger.error("Failed to authenticate user with email {}", request.getEmail());
+        throw new DbConnectionException(String.format("Failed to authenticate user with email %s from data base", request.getEmail()));
+    }
+
     @Recover
     public void recoverDeleteUser(DataAccessException e, long id){
         logger.error("Failed to delete user with id {}", id);
         throw new DbConnectionException(String.format("Failed to delete user with id %s from data base", id));
     }
 
+    @Recover
+    public int recoverDeactivateUsers(DataAccessException e, List<Long> ids) {
+        logger.error("Failed to deactivate {} users", ids.size());
+        throw new DbConnectionException(String.format("Failed to deactivate %s users in data base", ids.size()));
+    }
+
+    @Recover
+    public int recoverDeleteUsers(DataAccessException e, List<Long> ids) {
+        logger.error("Failed to delete {} users", ids.size());
+        throw new DbConnectionException(String.format("Failed to delete %s users from data base", ids.size()));
+    }
+
+    @Recover
+    public UserResponse recoverGetUser(DataAccessException e, long id) {
+        logger.error("Failed to get user with id {}", id);
+        throw new DbConnectionException(String.format("Failed to get user with id %s from data base", id));
+    }
+
     @Recover
     public GetUsersResponse recoverGetUsersGeneric(DataAccessException e) {
       logger.error("Failed to get users");
       throw new DbConnectionException("Failed to get users from data base");
     }
+
+    @Recover
+    public GetUsersCursorResponse recoverGetUsersCursorGeneric(DataAccessException e) {
+        logger.error("Failed to get users by cursor");
+        throw new DbConnectionException("Failed to get users from data base");
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.userAdministrationApplication.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface UserCountersService {
+    boolean isReady();
+
+    long getTotal();
+
+    long getActive();
+
+    /**
+     * Counts users created from the start of the hour of {@code since} until now, so it can include users created up
+     * to an hour before {@code since}. Only the last 48 hours are tracked.
+     */
+    long getCreatedSince(LocalDateTime since);
+
+    void onCreated(long count, LocalDateTime createdAt);
+
+    void onDeactivated(long count);
+
+    void onDeleted(long activeCount, Collection<LocalDateTime> createdAt);
+
+    void reconcile();
+}
@@ -0,0 +1,231 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.CountersProperties;
+import com.example.userAdministrationApplication.modules.dtos.CreatedPerHourDto;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the number of users, of active users and of users created per hour over the last two days, so list
+ * endpoints can report totals without a COUNT query.
+ * Changes are applied only once the transaction that made them commits, and the counters are periodically replaced
+ * with values read from the table, which corrects drift from writes made outside this service.
+ * The hourly buckets answer the total of the users created in the last day, rounded out to the start of the first hour.
+ */
+@Service
+public class UserCountersServiceImpl implements UserCountersService, MeterBinder {
+    private final static int HOUR_BUCKETS = 48;
+
+    private final UserAdministrationRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CountersProperties properties;
+    private final DataVersionService dataVersionService;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong active = new AtomicLong();
+    private final ReentrantLock bucketsLock = new ReentrantLock();
+    private final long[] bucketHours = new long[HOUR_BUCKETS];
+    private final long[] bucketCounts = new long[HOUR_BUCKETS];
+    private volatile boolean ready;
+    final static Logger logger = LoggerFactory.getLogger(UserCountersServiceImpl.class);
+
+    private record Snapshot(long total, long active, List<CreatedPerHourDto> recentCreations) {
+    }
+
+    public UserCountersServiceImpl(UserAdministrationRepository repository,
+                                   PlatformTransactionManager transactionManager,
+                                   CountersProperties properties,
+                                   DataVersionService dataVersionService) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public long getTotal() {
+        return total.get();
+    }
+
+    @Override
+    public long getActive() {
+        return active.get();
+    }
+
+    @Override
+    public long getCreatedSince(LocalDateTime since) {
+        long fromHour = epochHour(since);
+        long currentHour = epochHour(LocalDateTime.now());
+        long count = 0;
+        bucketsLock.lock();
+        try {
+            for (int i = 0; i < HOUR_BUCKETS; i++) {
+                if (bucketHours[i] >= fromHour && bucketHours[i] <= currentHour) {
+                    count += bucketCounts[i];
+                }
+            }
+        } finally {
+            bucketsLock.unlock();
+        }
+        return count;
+    }
+
+    @Override
+    public void onCreated(long count, LocalDateTime createdAt) {
+        if (count <= 0) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            total.addAndGet(count);
+            active.addAndGet(count);
+            bucketsLock.lock();
+            try {
+                addToBucket(epochHour(createdAt), count);
+            } finally {
+                bucketsLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public void onDeactivated(long count) {
+        if (count > 0) {
+            TransactionUtil.afterCommit(() -> active.addAndGet(-count));
+        }
+    }
+
+    @Override
+    public void onDeleted(long activeCount, Collection<LocalDateTime> createdAt) {
+        if (createdAt.isEmpty()) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            total.addAndGet(-createdAt.size());
+            active.addAndGet(-activeCount);
+            bucketsLock.lock();
+            try {
+                createdAt.forEach(dateTime -> removeFromBucket(epochHour(dateTime)));
+            } finally {
+                bucketsLock.unlock();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${user-administration.counters.reconcile-interval:5m}",
+            fixedDelayString = "${user-administration.counters.reconcile-interval:5m}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    @Override
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(HOUR_BUCKETS - 1);
+        Snapshot snapshot;
+        try {
+            snapshot = readOnlyTransaction.execute(status -> new Snapshot(
+                    repository.count(),
+                    repository.countByActiveTrue(),
+                    repository.countCreatedPerHourSince(from)
+            ));
+        } catch (DataAccessException e) {
+            logger.error("Failed to reconcile user counters with the data base", e);
+            return;
+        }
+
+        // A write that commits while the snapshot is read can be counted twice or not at all until the next run
+        long previousTotal = total.getAndSet(snapshot.total());
+        long previousActive = active.getAndSet(snapshot.active());
+        bucketsLock.lock();
+        try {
+            for (int i = 0; i < HOUR_BUCKETS; i++) {
+                bucketHours[i] = -1;
+                bucketCounts[i] = 0;
+            }
+            snapshot.recentCreations().forEach(hour ->
+                    addToBucket(epochHour(hour.getDay().atTime(hour.getHour(), 0)), hour.getCount()));
+        } finally {
+            bucketsLock.unlock();
+        }
+
+        if (ready && (previousTotal != snapshot.total() || previousActive != snapshot.active())) {
+            // Something changed the table behind this service's back, so responses tagged with the current version are stale
+            dataVersionService.onChanged();
+            logger.warn("User counters drifted from the table: total {} -> {}, active {} -> {}",
+                    previousTotal, snapshot.total(), previousActive, snapshot.active());
+        }
+        ready = true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.total", this, UserCountersServiceImpl::getTotal)
+                .description("Number of users")
+                .register(registry);
+        Gauge.builder("users.active", this, UserCountersServiceImpl::getActive)
+                .description("Number of active users")
+                .register(registry);
+        Gauge.builder("users.created.last.day", this,
+                        counters -> counters.getCreatedSince(LocalDateTime.now().minusHours(23)))
+                .description("Users created in the current hour and the 23 before it")
+                .register(registry);
+    }
+
+    private void addToBucket(long hour, long count) {
+        int slot = Math.floorMod(hour, HOUR_BUCKETS);
+        if (bucketHours[slot] != hour) {
+            // A newer hour already took the slot, so this one is older than the tracked range
+            if (bucketHours[slot] > hour) {
+                return;
+            }
+            bucketHours[slot] = hour;
+            bucketCounts[slot] = 0;
+        }
+        bucketCounts[slot] += count;
+    }
+
+    private void removeFromBucket(long hour) {
+        int slot = Math.floorMod(hour, HOUR_BUCKETS);
+        // Users created before the tracked range were never counted in a bucket
+        if (bucketHours[slot] == hour && bucketCounts[slot] > 0) {
+            bucketCounts[slot]--;
+        }
+    }
+
+    private long epochHour(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+
+import java.io.OutputStream;
+
+public interface UserExportService {
+    long exportUsers(OutputStream output, UserFileFormat format);
+}
@@ -0,0 +1,104 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.CsvUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every user straight from a forward-only result stream to the output, detaching each entity once written,
+ * so heap usage does not depend on the size of the table.
+ */
+@Service
+@Timed(value = "user.service", description = "Service method calls", histogram = true)
+@AllArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+    private final static List<String> CSV_HEADER = List.of("id", "firstName", "lastName", "email", "active", "createdAt");
+
+    private final UserAdministrationRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    final static Logger logger = LoggerFactory.getLogger(UserExportServiceImpl.class);
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream output, UserFileFormat format) {
+        logger.info("Exporting all users as {}", format);
+        long exported;
+        try (Stream<UserEntity> users = repository.streamAllByOrderByIdAsc()) {
+            exported = format == UserFileFormat.CSV
+                    ? writeCsv(users.iterator(), output)
+                    : writeNdjson(users.iterator(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write users export", e);
+        }
+
+        logger.info("Exported {} users", exported);
+        return exported;
+    }
+
+    private long writeNdjson(Iterator<UserEntity> users, OutputStream output) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (users.hasNext()) {
+            UserEntity user = users.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("firstName", user.getFirstName());
+            generator.writeStringField("lastName", user.getLastName());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeBooleanField("active", user.getActive());
+            generator.writeObjectField("createdAt", user.getCreatedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            entityManager.detach(user);
+            count++;
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Iterator<UserEntity> users, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CsvUtil.formatLine(CSV_HEADER));
+        writer.write('\n');
+        while (users.hasNext()) {
+            UserEntity user = users.next();
+            writer.write(CsvUtil.formatLine(List.of(
+                    String.valueOf(user.getId()),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    String.valueOf(user.getActive()),
+                    String.valueOf(user.getCreatedAt())
+            )));
+            writer.write('\n');
+            entityManager.detach(user);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.responses.ImportUsersResponse;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+    ImportUsersResponse importUsers(InputStream input, UserFileFormat format);
+}
@@ -0,0 +1,327 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.ImportProperties;
+import com.example.userAdministrationApplication.exceptions.InvalidImportFileException;
+import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.modules.dtos.ImportErrorDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.responses.ImportUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.CsvUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON or CSV body row by row and writes valid users in JDBC batches.
+ * Rows are inserted through {@link JdbcTemplate} rather than {@code repository.saveAll}, because the
+ * {@code IDENTITY} id of {@code UserEntity} forces Hibernate to issue one insert per entity.
+ */
+@Service
+@Timed(value = "user.service", description = "Service method calls", histogram = true)
+public class UserImportServiceImpl implements UserImportService {
+    private final static String INSERT_USER_SQL =
+            "insert into users (first_name, last_name, email, password, active, created_at) values (?, ?, ?, ?, ?, ?)";
+    private final static List<String> CSV_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    private final UserAdministrationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final PasswordHashingService passwordHashingService;
+    private final ImportProperties importProperties;
+    private final EmailFilterService emailFilterService;
+    private final RecentUsersService recentUsersService;
+    private final UserCountersService userCountersService;
+    private final DataVersionService dataVersionService;
+    private final UserSearchService userSearchService;
+    final static Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    public UserImportServiceImpl(UserAdministrationRepository repository,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PasswordHashingService passwordHashingService,
+                                 ImportProperties importProperties,
+                                 EmailFilterService emailFilterService,
+                                 RecentUsersService recentUsersService,
+                                 UserCountersService userCountersService,
+                                 DataVersionService dataVersionService,
+                                 UserSearchService userSearchService) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CreateNewUserRequest.class);
+        this.passwordHashingService = passwordHashingService;
+        this.importProperties = importProperties;
+        this.emailFilterService = emailFilterService;
+        this.recentUsersService = recentUsersService;
+        this.userCountersService = userCountersService;
+        this.dataVersionService = dataVersionService;
+        this.userSearchService = userSearchService;
+    }
+
+    private record ImportRow(long row, CreateNewUserRequest request) {
+    }
+
+    private class ImportProgress {
+        private long totalRows;
+        private long importedCount;
+        private long failedCount;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+
+        private void fail(long row, String email, String message) {
+            failedCount++;
+            if (errors.size() < importProperties.getMaxReportedErrors()) {
+                errors.add(new ImportErrorDto(row, email, message));
+            }
+        }
+
+        private ImportUsersResponse toResponse() {
+            return new ImportUsersResponse(totalRows, importedCount, failedCount, errors);
+        }
+    }
+
+    @Override
+    public ImportUsersResponse importUsers(InputStream input, UserFileFormat format) {
+        logger.info("Importing users from {} stream", format);
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> batch = new ArrayList<>(importProperties.getBatchSize());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            int[] csvColumns = null;
+            if (format == UserFileFormat.CSV) {
+                csvColumns = readCsvHeader(reader.readLine());
+                lineNumber++;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.totalRows++;
+
+                CreateNewUserRequest request = format == UserFileFormat.CSV
+                        ? parseCsvRow(line, csvColumns)
+                        : parseNdjsonRow(line);
+                if (request == null) {
+                    progress.fail(lineNumber, null, "Row could not be parsed");
+                    continue;
+                }
+
+                String error = validate(request);
+                if (error != null) {
+                    progress.fail(lineNumber, request.getEmail(), error);
+                    continue;
+                }
+
+                batch.add(new ImportRow(lineNumber, request));
+                if (batch.size() >= importProperties.getBatchSize()) {
+                    writeBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import stream", e);
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch, progress);
+        }
+
+        if (progress.importedCount > 0) {
+            recentUsersService.invalidate();
+            // The search index keeps answering without the imported users until its rebuild finishes
+            userSearchService.refresh();
+        }
+        logger.info("Imported {} of {} users, {} failed", progress.importedCount, progress.totalRows, progress.failedCount);
+        return progress.toResponse();
+    }
+
+    private int[] readCsvHeader(String header) {
+        List<String> columns = header == null ? null : CsvUtil.parseLine(header);
+        if (columns == null) {
+            throw new InvalidImportFileException("CSV import must start with a header row");
+        }
+
+        List<String> normalizedColumns = columns.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] indexes = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            indexes[i] = normalizedColumns.indexOf(CSV_COLUMNS.get(i));
+            if (indexes[i] < 0) {
+                throw new InvalidImportFileException(String.format(
+                        "CSV header must contain the columns firstName, lastName, email and password but was \"%s\"", header));
+            }
+        }
+        return indexes;
+    }
+
+    private CreateNewUserRequest parseCsvRow(String line, int[] columns) {
+        List<String> fields = CsvUtil.parseLine(line);
+        if (fields == null) {
+            return null;
+        }
+        for (int column : columns) {
+            if (column >= fields.size()) {
+                return null;
+            }
+        }
+
+        return new CreateNewUserRequest(
+                fields.get(columns[0]),
+                fields.get(columns[1]),
+                fields.get(columns[2]),
+                fields.get(columns[3])
+        );
+    }
+
+    private CreateNewUserRequest parseNdjsonRow(String line) {
+        try {
+            return requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String validate(CreateNewUserRequest request) {
+        Set<ConstraintViolation<CreateNewUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private void writeBatch(List<ImportRow> batch, ImportProgress progress) {
+        // Emails are compared normalized, like the unique index on the table does
+        Set<String> batchEmails = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            if (batchEmails.add(UserEntity.normalizeEmail(row.request().getEmail()))) {
+                candidates.add(row);
+            } else {
+                progress.fail(row.row(), row.request().getEmail(), new UserAlreadyExistException(row.request().getEmail()).getMessage());
+            }
+        }
+
+        // Emails the filter has never seen are certainly new, so only the rest are looked up
+        Set<String> maybeExistingEmails = batchEmails.stream()
+                .filter(emailFilterService::mightExist)
+                .collect(Collectors.toSet());
+        Set<String> existingEmails;
+        try {
+            existingEmails = maybeExistingEmails.isEmpty()
+                    ? Set.of()
+                    : repository.findExistingEmails(maybeExistingEmails);
+        } catch (DataAccessException e) {
+            logger.error("Failed to check existing emails for import batch", e);
+            candidates.forEach(row -> progress.fail(row.row(), row.request().getEmail(), "Failed to save user in data base"));
+            return;
+        }
+
+        List<ImportRow> rows = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existingEmails.contains(UserEntity.normalizeEmail(row.request().getEmail()))) {
+                progress.fail(row.row(), row.request().getEmail(), new UserAlreadyExistException(row.request().getEmail()).getMessage());
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost of an import, so the batch is hashed on the hashing pool before any connection is used
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<String> hashes = passwordHashingService.encodeAll(rows.stream()
+                .map(row -> row.request().getPassword())
+                .toList());
+        List<Object[]> insertArgs = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            CreateNewUserRequest request = rows.get(i).request();
+            insertArgs.add(new Object[]{
+                    request.getFirstName(),
+                    request.getLastName(),
+                    request.getEmail(),
+                    hashes.get(i),
+                    true,
+                    createdAt
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER_SQL, insertArgs));
+            onImported(rows.size(), createdAt, progress);
+            rows.forEach(row -> emailFilterService.add(row.request().getEmail()));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of the emails after the existence check, so retry row by row to isolate it
+            logger.warn("Import batch hit a unique constraint, falling back to single inserts");
+            for (int i = 0; i < rows.size(); i++) {
+                insertSingleRow(rows.get(i), insertArgs.get(i), createdAt, progress);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Failed to write import batch", e);
+            rows.forEach(row -> progress.fail(row.row(), row.request().getEmail(), "Failed to save user in data base"));
+        }
+    }
+
+    private void onImported(int count, LocalDateTime createdAt, ImportProgress progress) {
+        // Batch inserts do not return the generated ids, so the recent users window goes cold at the first
+        // committed batch and is reloaded again once the whole import is done
+        if (progress.importedCount == 0) {
+            recentUsersService.invalidate();
+        }
+        progress.importedCount += count;
+        userCountersService.onCreated(count, createdAt);
+        dataVersionService.onChanged();
+    }
+
+    private void insertSingleRow(ImportRow row, Object[] args, LocalDateTime createdAt, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_USER_SQL, args));
+            onImported(1, createdAt, progress);
+            emailFilterService.add(row.request().getEmail());
+        } catch (DataIntegrityViolationException e) {
+            progress.fail(row.row(), row.request().getEmail(), new UserAlreadyExistException(row.request().getEmail()).getMessage());
+        } catch (DataAccessException e) {
+            progress.fail(row.row(), row.request().getEmail(), "Failed to save user in data base");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserSearchService {
+    List<UserDto> search(String query, int limit);
+
+    void add(UserDto user);
+
+    void deactivate(Collection<Long> ids);
+
+    void remove(Collection<Long> ids);
+
+    void refresh();
+
+    void rebuild();
+
+    boolean isReady();
+}
@@ -0,0 +1,383 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.SearchProperties;
+import com.example.userAdministrationApplication.exceptions.SearchUnavailableException;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.PrefixIndex;
+import com.example.userAdministrationApplication.utils.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Answers prefix searches over first names, last names and emails from an in-memory index instead of a
+ * {@code LIKE '%...%'} scan of the table. Every user is indexed under its lower-cased names, the words in them, its
+ * normalized email, the local part of the email and the words in that, and a query matches users having, for every
+ * one of its terms, a token starting with that term.
+ * The index is built by streaming the table once the application is ready and kept current by applying creations,
+ * deactivations and deletes once their transaction commits. Imports carry no ids, so they trigger a rebuild in the
+ * background while the previous index keeps answering. Until the first build finishes searches are rejected.
+ */
+@Service
+public class UserSearchServiceImpl implements UserSearchService, MeterBinder {
+    private final static Pattern WHITESPACE = Pattern.compile("\\s+");
+    private final static Pattern NAME_SEPARATORS = Pattern.compile("[\\s'-]+");
+    private final static Pattern EMAIL_SEPARATORS = Pattern.compile("[._+-]+");
+    // Rough size of a user entry besides its strings: the DTO, boxed id, timestamp, entry, token array and map node
+    private final static int USER_BYTES = 240;
+    private final static int STRING_BYTES = 40;
+
+    private final UserAdministrationRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SearchProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private Index index;
+    // Changes committed while a rebuild reads the data base, replayed on the new index before it replaces the old one
+    private List<Consumer<Index>> pending;
+    final static Logger logger = LoggerFactory.getLogger(UserSearchServiceImpl.class);
+
+    private record Entry(UserDto user, String[] tokens) {
+    }
+
+    private static class Index {
+        private final PrefixIndex tokens = new PrefixIndex();
+        private final Map<Long, Entry> users = new HashMap<>();
+        private long userBytes;
+
+        // The changes below must be idempotent, because a rebuild replays them over rows its scan may already have seen
+
+        private void add(UserDto user) {
+            remove(user.getId());
+            Set<String> userTokens = tokenize(user);
+            String[] stored = new String[userTokens.size()];
+            int i = 0;
+            for (String token : userTokens) {
+                stored[i++] = tokens.add(token, user.getId());
+            }
+            users.put(user.getId(), new Entry(user, stored));
+            userBytes += bytes(user, stored);
+        }
+
+        private void deactivate(long id) {
+            Entry entry = users.get(id);
+            if (entry != null) {
+                entry.user().setActive(false);
+            }
+        }
+
+        private void remove(long id) {
+            Entry entry = users.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String token : entry.tokens()) {
+                tokens.remove(token, id);
+            }
+            userBytes -= bytes(entry.user(), entry.tokens());
+        }
+
+        private long getEstimatedBytes() {
+            return tokens.getEstimatedBytes() + userBytes;
+        }
+
+        private static long bytes(UserDto user, String[] tokens) {
+            return USER_BYTES + 4L * tokens.length
+                    + 3 * STRING_BYTES + length(user.getFirstName()) + length(user.getLastName()) + length(user.getEmail());
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+
+    public UserSearchServiceImpl(UserAdministrationRepository repository,
+                                 PlatformTransactionManager transactionManager,
+                                 SearchProperties properties) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /**
+     * Returns up to {@code limit} users matching every term of {@code query}. The longest term is looked up in the
+     * index and the others are checked against the tokens of each candidate, so results come in the order of the
+     * looked up tokens: an exact match first, then alphabetically, and the newest users first within a token.
+     */
+    @Override
+    public List<UserDto> search(String query, int limit) {
+        if (query.isBlank() || limit < 1) {
+            return List.of();
+        }
+        String[] terms = WHITESPACE.split(query.trim().toLowerCase(Locale.ROOT));
+        Arrays.sort(terms, (first, second) -> second.length() - first.length());
+        int maximum = Math.min(limit, properties.getMaximumResults());
+        List<UserDto> users = new ArrayList<>(Math.min(maximum, 16));
+
+        lock.readLock().lock();
+        try {
+            if (!properties.isEnabled() || index == null) {
+                throw new SearchUnavailableException();
+            }
+            Index current = index;
+            Set<Long> seen = new HashSet<>();
+            int[] scanned = { 0 };
+            current.tokens.forEachWithPrefix(terms[0], id -> {
+                if (seen.add(id)) {
+                    Entry entry = current.users.get(id);
+                    if (entry != null && matchesAll(entry, terms)) {
+                        users.add(copy(entry.user()));
+                    }
+                }
+                return users.size() < maximum && ++scanned[0] < properties.getMaximumScanned();
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return users;
+    }
+
+    @Override
+    public void add(UserDto user) {
+        UserDto copy = copy(user);
+        TransactionUtil.afterCommit(() -> apply(index -> index.add(copy)));
+    }
+
+    @Override
+    public void deactivate(Collection<Long> ids) {
+        List<Long> deactivated = List.copyOf(ids);
+        TransactionUtil.afterCommit(() -> apply(index -> deactivated.forEach(index::deactivate)));
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        List<Long> removed = List.copyOf(ids);
+        TransactionUtil.afterCommit(() -> apply(index -> removed.forEach(index::remove)));
+    }
+
+    @Override
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        stale.set(true);
+        TransactionUtil.afterCommit(this::rebuildInBackground);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new index from the table and swaps it in. Searches keep using the previous index meanwhile, and
+     * changes committed during the build are applied to both.
+     */
+    @Override
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            Index built = new Index();
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<UserDto> users = repository.streamAllUsers()) {
+                        users.forEach(built::add);
+                    }
+                });
+            } catch (DataAccessException e) {
+                logger.error("Failed to build the search index, the previous one is kept", e);
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(built));
+                pending = null;
+                index = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Search index built in {} ms with {} users and {} tokens, about {} MB",
+                    (System.nanoTime() - start) / 1_000_000, built.users.size(), built.tokens.getTokenCount(),
+                    built.getEstimatedBytes() / (1024 * 1024));
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.search.index.users", this, search -> search.read(index -> index.users.size()))
+                .description("Users in the search index")
+                .register(registry);
+        Gauge.builder("user.search.index.tokens", this, search -> search.read(index -> index.tokens.getTokenCount()))
+                .description("Distinct tokens in the search index")
+                .register(registry);
+        Gauge.builder("user.search.index.memory", this, search -> search.read(Index::getEstimatedBytes))
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private double read(ToDoubleFunction<Index> metric) {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : metric.applyAsDouble(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("search-index-rebuild").daemon(true).start(() -> {
+            try {
+                // Imports that finish while the index is being built mark it stale again, so loop until it is current
+                while (stale.getAndSet(false)) {
+                    rebuild();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+            if (stale.get()) {
+                rebuildInBackground();
+            }
+        });
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean matchesAll(Entry entry, String[] terms) {
+        for (int i = 1; i < terms.length; i++) {
+            boolean matches = false;
+            for (String token : entry.tokens()) {
+                if (token.startsWith(terms[i])) {
+                    matches = true;
+                    break;
+                }
+            }
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> tokenize(UserDto user) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addName(tokens, user.getFirstName());
+        addName(tokens, user.getLastName());
+        if (user.getEmail() != null) {
+            String email = UserEntity.normalizeEmail(user.getEmail());
+            tokens.add(email);
+            int at = email.indexOf('@');
+            if (at > 0) {
+                String localPart = email.substring(0, at);
+                tokens.add(localPart);
+                addParts(tokens, EMAIL_SEPARATORS, localPart);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addName(Set<String> tokens, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        tokens.add(normalized);
+        addParts(tokens, NAME_SEPARATORS, normalized);
+    }
+
+    private static void addParts(Set<String> tokens, Pattern separators, String value) {
+        for (String part : separators.split(value)) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+    }
+
+    private static UserDto copy(UserDto user) {
+        return new UserDto(
+                user.getId(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getEmail(),
+                user.getActive(),
+                user.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.userAdministrationApplication.utils;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose strength is chosen for the hardware it runs on.
+ * Unlike {@link BCryptPasswordEncoder#upgradeEncoding(String)}, a stored hash is reported for re-encoding whenever its
+ * cost differs from the current strength, in both directions, so verification time follows the target after the
+ * application moves to faster or slower nodes.
+ */
+public class CalibratedPasswordEncoder extends BCryptPasswordEncoder {
+    private final static Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private final static String CALIBRATION_PASSWORD = "Calibration1!";
+    private final static int CALIBRATION_ROUNDS = 3;
+
+    private final int strength;
+
+    public CalibratedPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Measures a hash at {@code minStrength} and picks the highest strength whose hash is expected to take at most
+     * {@code target}. Every step doubles the work, so one measurement is enough to extrapolate the others.
+     */
+    public static CalibratedPasswordEncoder calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        // The first hash pays for class loading and JIT, so it is not measured
+        probe.encode(CALIBRATION_PASSWORD);
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        return new CalibratedPasswordEncoder(strengthFor(target, fastestNanos, minStrength, maxStrength));
+    }
+
+    public static int strengthFor(Duration target, long nanosAtMinStrength, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long expectedNanos = nanosAtMinStrength;
+        while (strength < maxStrength && expectedNanos * 2 <= target.toNanos()) {
+            strength++;
+            expectedNanos *= 2;
+        }
+        return strength;
+    }
+
+    /**
+     * Returns the cost stored in a BCrypt hash, or {@code -1} when the value is not a BCrypt hash.
+     */
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() ? Integer.parseInt(matcher.group(2)) : -1;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return strengthOf(encodedPassword) != strength;
+    }
+}
@@ -10,7 +10,6 @@ public class ConvertorUtil {
                 entity.getFirstName(),
                 entity.getLastName(),
                 entity.getEmail(),
-                entity.getPassword(),
                 entity.getActive(),
                 entity.getCreatedAt()
         );
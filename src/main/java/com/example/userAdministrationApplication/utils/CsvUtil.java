@@ -0,0 +1,69 @@
+package com.example.userAdministrationApplication.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvUtil {
+    private final static char SEPARATOR = ',';
+    private final static char QUOTE = '"';
+
+    /**
+     * Splits a single CSV line into its fields, honouring quoted fields and doubled quotes inside them.
+     * Returns {@code null} when a quoted field is not closed on the same line.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Joins the fields into a single CSV line, quoting only the fields that need it.
+     */
+    public static String formatLine(List<String> fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(SEPARATOR);
+            }
+            String field = fields.get(i) == null ? "" : fields.get(i);
+            boolean needsQuotes = field.indexOf(SEPARATOR) >= 0
+                    || field.indexOf(QUOTE) >= 0
+                    || field.indexOf('\n') >= 0
+                    || field.indexOf('\r') >= 0;
+            if (needsQuotes) {
+                line.append(QUOTE).append(field.replace("\"", "\"\"")).append(QUOTE);
+            } else {
+                line.append(field);
+            }
+        }
+        return line.toString();
+    }
+}
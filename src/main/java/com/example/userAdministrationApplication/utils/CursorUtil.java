@@ -0,0 +1,49 @@
+package com.example.userAdministrationApplication.utils;
+
+import com.example.userAdministrationApplication.exceptions.InvalidCursorException;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public class CursorUtil {
+    private final static String SEPARATOR = "|";
+
+    public record Cursor(LocalDateTime createdAt, long id) {
+    }
+
+    public static String encode(UserDto user) {
+        return encode(user.getCreatedAt(), user.getId());
+    }
+
+    public static String encode(LocalDateTime createdAt, long id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor produced by {@link #encode(LocalDateTime, long)}.
+     * A blank value means "start from the beginning" and decodes to {@code null}.
+     */
+    public static Cursor decode(String after) {
+        if (after == null || after.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(after);
+            }
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(after);
+        }
+    }
+}
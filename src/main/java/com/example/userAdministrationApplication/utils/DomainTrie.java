@@ -0,0 +1,52 @@
+package com.example.userAdministrationApplication.utils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps email domains to values, stored reversed character by character so that looking up the domain of an email
+ * walks it once from its last character, however many domains are stored.
+ * A domain also matches its subdomains, and the most specific stored domain wins.
+ */
+public class DomainTrie<T> {
+    private static class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private T value;
+    }
+
+    private final Node<T> root = new Node<>();
+
+    public void put(String domain, T value) {
+        Node<T> node = root;
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        for (int i = normalized.length() - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(normalized.charAt(i), c -> new Node<>());
+        }
+        node.value = value;
+    }
+
+    /**
+     * Returns the value of the most specific domain that the domain part of {@code email} equals or is a subdomain of,
+     * or {@code null} when there is none.
+     */
+    public T findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        T match = null;
+        Node<T> node = root;
+        for (int i = email.length() - 1; i > at; i--) {
+            node = node.children.get(Character.toLowerCase(email.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            // Only whole labels match: "example.com" covers "mail.example.com" but not "myexample.com"
+            if (node.value != null && (i - 1 == at || email.charAt(i - 1) == '.')) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+}
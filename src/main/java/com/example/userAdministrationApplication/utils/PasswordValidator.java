@@ -1,16 +1,47 @@
 package com.example.userAdministrationApplication.utils;
 
 import com.example.userAdministrationApplication.annotations.ValidPassword;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.services.PasswordPolicyService;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
-    private static final String PASSWORD_PATTERN =
-            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{4,}$";
+import java.util.Optional;
+
+/**
+ * Applies the password policy for the email domain of a request. The violation is reported on the {@code password}
+ * property, so it shows up next to the other field errors.
+ */
+public class PasswordValidator implements ConstraintValidator<ValidPassword, CreateNewUserRequest> {
+    private final PasswordPolicyService passwordPolicyService;
+
+    public PasswordValidator(PasswordPolicyService passwordPolicyService) {
+        this.passwordPolicyService = passwordPolicyService;
+    }
 
     @Override
-    public boolean isValid(String password, ConstraintValidatorContext context) {
-        if (password == null) return false;
-        return password.matches(PASSWORD_PATTERN);
+    public boolean isValid(CreateNewUserRequest request, ConstraintValidatorContext context) {
+        // A missing password is reported by @NotBlank
+        if (request == null || request.getPassword() == null) {
+            return true;
+        }
+
+        Optional<String> violation = passwordPolicyService.validate(request.getEmail(), request.getPassword());
+        if (violation.isEmpty()) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(escape(violation.get()))
+                .addPropertyNode("password")
+                .addConstraintViolation();
+        return false;
+    }
+
+    // The message is used as a template, so characters the interpolation would interpret are escaped
+    private static String escape(String message) {
+        return message.replace("\\", "\\\\")
+                .replace("{", "\\{")
+                .replace("}", "\\}")
+                .replace("$", "\\$");
     }
 }
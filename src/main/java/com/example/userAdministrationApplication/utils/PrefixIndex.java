@@ -0,0 +1,114 @@
+package com.example.userAdministrationApplication.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Maps tokens to the ids they occur in. Tokens are kept sorted, so every token starting with a prefix lies in one
+ * contiguous range that is walked in order, and ids are kept in sorted arrays rather than boxed sets.
+ * Not thread safe, callers guard it.
+ */
+public class PrefixIndex {
+    // Rough JVM object sizes with compressed pointers, used for the memory estimate
+    private final static int TREE_ENTRY_BYTES = 40;
+    private final static int STRING_BYTES = 40;
+    private final static int POSTINGS_BYTES = 32;
+
+    private static class Postings {
+        private long[] ids = new long[1];
+        private int size;
+    }
+
+    private final TreeMap<String, Postings> tokens = new TreeMap<>();
+    private long postingCount;
+    private long estimatedBytes;
+
+    /**
+     * Adds {@code id} under {@code token} and returns the stored token, so callers can share one instance per token.
+     */
+    public String add(String token, long id) {
+        Map.Entry<String, Postings> entry = tokens.ceilingEntry(token);
+        Postings postings;
+        if (entry != null && entry.getKey().equals(token)) {
+            token = entry.getKey();
+            postings = entry.getValue();
+        } else {
+            postings = new Postings();
+            tokens.put(token, postings);
+            estimatedBytes += TREE_ENTRY_BYTES + STRING_BYTES + token.length() + POSTINGS_BYTES + 8;
+        }
+
+        // Ids are almost always added in increasing order, so this is usually an append
+        int index = postings.size > 0 && postings.ids[postings.size - 1] < id
+                ? postings.size
+                : Arrays.binarySearch(postings.ids, 0, postings.size, id);
+        if (index >= 0 && index < postings.size) {
+            return token;
+        }
+        int insertAt = index >= 0 ? index : -index - 1;
+        if (postings.size == postings.ids.length) {
+            int capacity = postings.ids.length + Math.max(1, postings.ids.length >> 1);
+            estimatedBytes += 8L * (capacity - postings.ids.length);
+            postings.ids = Arrays.copyOf(postings.ids, capacity);
+        }
+        System.arraycopy(postings.ids, insertAt, postings.ids, insertAt + 1, postings.size - insertAt);
+        postings.ids[insertAt] = id;
+        postings.size++;
+        postingCount++;
+        return token;
+    }
+
+    public void remove(String token, long id) {
+        Postings postings = tokens.get(token);
+        if (postings == null) {
+            return;
+        }
+        int index = Arrays.binarySearch(postings.ids, 0, postings.size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(postings.ids, index + 1, postings.ids, index, postings.size - index - 1);
+        postings.size--;
+        postingCount--;
+        if (postings.size == 0) {
+            tokens.remove(token);
+            estimatedBytes -= TREE_ENTRY_BYTES + STRING_BYTES + token.length() + POSTINGS_BYTES + 8L * postings.ids.length;
+        }
+    }
+
+    /**
+     * Passes the ids of every token starting with {@code prefix} to {@code action}, token by token in alphabetical
+     * order, so a token equal to the prefix comes first, and within a token from the highest id down.
+     * Stops as soon as {@code action} returns {@code false}.
+     */
+    public void forEachWithPrefix(String prefix, LongPredicate action) {
+        for (Map.Entry<String, Postings> entry : tokens.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                return;
+            }
+            Postings postings = entry.getValue();
+            for (int i = postings.size - 1; i >= 0; i--) {
+                if (!action.test(postings.ids[i])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public int getTokenCount() {
+        return tokens.size();
+    }
+
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    /**
+     * Approximate heap used by the tokens and their id arrays.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.userAdministrationApplication.utils;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A Caffeine cache whose {@code @Cacheable(sync = true)} loads run on the calling thread outside the map's
+ * {@code compute}. The synchronous cache runs the loader while holding the {@code synchronized} lock of the map bin,
+ * which pins a virtual thread's carrier for the whole data base round trip and blocks other keys of the same bin.
+ * Here the first caller maps an incomplete future, loads the value and completes it, and concurrent callers for the
+ * same key wait on that future. Caffeine still records the load in its statistics and drops the entry if it fails or
+ * is evicted meanwhile.
+ */
+public class SingleFlightCaffeineCache extends CaffeineCache {
+    public SingleFlightCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> value = getAsyncCache().get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(toStoreValue(valueLoader.call()));
+            } catch (Exception e) {
+                loading.completeExceptionally(new ValueRetrievalException(key, valueLoader, e));
+            } catch (Error e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return (T) fromStoreValue(value.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ValueRetrievalException valueRetrievalException) {
+                throw valueRetrievalException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- The users table as Hibernate generated it from UserEntity before the schema was versioned.
+-- Data bases created that way are baselined at this version, so the unique constraint keeps Hibernate's name.
+create table if not exists users (
+    id bigint generated by default as identity,
+    active boolean not null,
+    created_at timestamp(6) not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
@@ -0,0 +1,11 @@
+-- Emails are unique regardless of case and surrounding spaces. H2 has no expression indexes, so the normalized
+-- value is a generated column; lookups compare against it and the unique index replaces the exact-match constraint.
+alter table users add column email_normalized varchar(255) generated always as (lower(trim(email)));
+create unique index ux_users_email_normalized on users (email_normalized);
+alter table users drop constraint UK6dotkott2kjsp8vw4d0m25fb7;
+
+-- Recent users, counter reconciliation and cursor pages filter on created_at and order by (created_at, id)
+create index ix_users_created_at_id on users (created_at, id);
+
+-- H2 has no partial indexes, so active users get a plain index, which the counters count them through
+create index ix_users_active on users (active);
@@ -0,0 +1,10 @@
+-- The list endpoint filters by email domain. Like the normalized email, the domain is a generated column, and its
+-- index continues with (created_at, id) so the users of one domain are read newest or oldest first without a sort.
+alter table users add column email_domain varchar(255)
+    generated always as (substring(lower(trim(email)), locate('@', lower(trim(email))) + 1));
+create index ix_users_email_domain_created_at_id on users (email_domain, created_at, id);
+
+-- Listing active or inactive users pages them by creation time, which the single column index could only filter.
+-- The wider index still serves the counters' count of active users.
+drop index ix_users_active;
+create index ix_users_active_created_at_id on users (active, created_at, id);
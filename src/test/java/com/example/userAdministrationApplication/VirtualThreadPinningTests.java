@@ -0,0 +1,107 @@
+package com.example.userAdministrationApplication;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.userAdministrationApplication.configurations.UserAdministrationConfiguration.USERS_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the virtual-thread mode against code that blocks while holding a monitor, which pins the carrier thread.
+ */
+// The burst comes from one address, so the rate limiter would answer most of it before any pinning code runs
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:pinning;DB_CLOSE_DELAY=-1",
+        "user-administration.rate-limit.enabled=false"
+})
+@ActiveProfiles("virtual-threads")
+public class VirtualThreadPinningTests {
+    private final static int REQUESTS = 200;
+    private final static int SEEDED_USERS = 5;
+    private final static Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private HttpRequest createRequest(int i) {
+        String body = String.format(
+                "{\"firstName\":\"Li\",\"lastName\":\"Alush\",\"email\":\"pinning%d@test.com\",\"password\":\"SecurePass123!\"}", i);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest getRequest(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    @Test
+    void concurrentRequestsDoNotPinCarrierThreadsTest() throws Exception {
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            List<Long> seededIds = new ArrayList<>();
+            for (int i = 0; i < SEEDED_USERS; i++) {
+                String body = client.send(createRequest(REQUESTS + i), HttpResponse.BodyHandlers.ofString()).body();
+                Matcher id = ID.matcher(body);
+                assertThat(id.find()).as("created user in %s", body).isTrue();
+                seededIds.add(Long.parseLong(id.group(1)));
+            }
+            // Creating a user caches it, so the burst starts with misses that load from the data base
+            cacheManager.getCache(USERS_CACHE).clear();
+
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpRequest request = switch (i % 10) {
+                    case 0 -> createRequest(i);
+                    case 1, 2 -> getRequest("/users?page=0&limit=10");
+                    case 3, 4 -> getRequest("/users?after=&limit=10");
+                    case 5, 6 -> getRequest("/users/createdLastDay?page=0&limit=10");
+                    // Concurrent misses and hits for the seeded users, and ids that do not exist
+                    default -> getRequest("/users/" + (seededIds.get(i % seededIds.size()) + (i % 3 == 0 ? 1_000_000 : 0)));
+                };
+                responses.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                // 503 is the hashing pool shedding part of the create burst and 404 the missing ids, both expected here
+                assertThat(response.get().statusCode()).isIn(200, 201, 404, 503);
+            }
+
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents)
+                .as("virtual threads pinned by a synchronized block: %s", pinnedEvents)
+                .isEmpty();
+    }
+}
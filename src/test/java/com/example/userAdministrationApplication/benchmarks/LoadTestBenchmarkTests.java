@@ -0,0 +1,305 @@
+package com.example.userAdministrationApplication.benchmarks;
+
+import com.example.userAdministrationApplication.UserAdministrationApplication;
+import com.example.userAdministrationApplication.services.EmailFilterService;
+import com.example.userAdministrationApplication.services.RecentUsersService;
+import com.example.userAdministrationApplication.services.UserCountersService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a configurable mix of create, list, createdLastDay, deactivate and delete requests against the application
+ * running with the {@code loadtest} profile (in-memory H2), after seeding {@code loadtest.users} users directly
+ * through JDBC. Requests are sent from virtual threads with at most {@code loadtest.concurrency} in flight.
+ * Latency percentiles, throughput and status codes per endpoint are printed and written as JSON to
+ * {@code loadtest.output}.
+ * Run with {@code ./mvnw -Pbenchmark test -Dtest=LoadTestBenchmarkTests}; the knobs below are system properties, and
+ * {@code loadtest.mix} takes weights such as {@code create:5,list:50,createdLastDay:30,deactivate:10,delete:5}.
+ */
+@Tag("benchmark")
+public class LoadTestBenchmarkTests {
+    private final static int USERS = Integer.getInteger("loadtest.users", 10000);
+    private final static int REQUESTS = Integer.getInteger("loadtest.requests", 20000);
+    private final static int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private final static int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmupRequests", 500);
+    private final static int PAGE_SIZE = Integer.getInteger("loadtest.pageSize", 20);
+    private final static String MIX = System.getProperty("loadtest.mix",
+            "create:5,list:50,createdLastDay:30,deactivate:10,delete:5");
+    private final static String OUTPUT = System.getProperty("loadtest.output", "target/loadtest-results.json");
+    private final static String PASSWORD = "SecurePass123!";
+
+    private enum Operation {
+        CREATE("create"),
+        LIST("list"),
+        CREATED_LAST_DAY("createdLastDay"),
+        DEACTIVATE("deactivate"),
+        DELETE("delete");
+
+        private final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        static Operation fromName(String name) {
+            for (Operation operation : values()) {
+                if (operation.name.equalsIgnoreCase(name)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation \"" + name + "\" in loadtest.mix");
+        }
+    }
+
+    private record Sample(Operation operation, long nanos, int status) {
+    }
+
+    /**
+     * Builds the requests of the mix. Deletes walk down from the highest seeded id and deactivations pick among the
+     * others, so every delete targets an existing user and creates never collide on email.
+     */
+    private static class RequestFactory {
+        private final String baseUrl;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final AtomicLong nextEmail = new AtomicLong();
+        private final AtomicLong nextDeletedId;
+        private final long deactivateBound;
+
+        RequestFactory(String baseUrl, String mix, long maxSeededId) {
+            this.baseUrl = baseUrl;
+            List<Operation> operationList = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            int total = 0;
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    operationList.add(Operation.fromName(parts[0].trim()));
+                    weights.add(total);
+                }
+            }
+            this.operations = operationList.toArray(Operation[]::new);
+            this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+            this.nextDeletedId = new AtomicLong(maxSeededId);
+            this.deactivateBound = Math.max(1, maxSeededId / 2);
+        }
+
+        Operation pick() {
+            int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        HttpRequest build(Operation operation) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (operation) {
+                case CREATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"created%d@loadtest.com\",\"password\":\"%s\"}",
+                                nextEmail.incrementAndGet(), PASSWORD)))
+                        .build();
+                case LIST -> HttpRequest.newBuilder(URI.create(String.format("%s/users?page=%d&limit=%d",
+                                baseUrl, random.nextInt(Math.max(1, USERS / PAGE_SIZE)), PAGE_SIZE)))
+                        .GET()
+                        .build();
+                case CREATED_LAST_DAY -> HttpRequest.newBuilder(URI.create(String.format("%s/users/createdLastDay?page=%d&limit=%d",
+                                baseUrl, random.nextInt(Math.max(1, USERS / PAGE_SIZE / 2)), PAGE_SIZE)))
+                        .GET()
+                        .build();
+                case DEACTIVATE -> HttpRequest.newBuilder(URI.create(String.format("%s/users/deactivate/%d",
+                                baseUrl, 1 + random.nextLong(deactivateBound))))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                case DELETE -> HttpRequest.newBuilder(URI.create(String.format("%s/users/%d",
+                                baseUrl, Math.max(1, nextDeletedId.getAndDecrement()))))
+                        .DELETE()
+                        .build();
+            };
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(UserAdministrationApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .run();
+    }
+
+    /**
+     * Inserts the users with JDBC batches and one shared hash, then reloads the in-memory state built from the table.
+     * Creation times are spread over the last two days, so about half of them are in the createdLastDay window.
+     */
+    private long seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 0; i < USERS; i++) {
+            LocalDateTime createdAt = now.minusSeconds(ThreadLocalRandom.current().nextLong(Duration.ofDays(2).toSeconds()));
+            rows.add(new Object[]{ "Seed", "User" + i, "seed" + i + "@loadtest.com", hash, true, Timestamp.valueOf(createdAt) });
+            if (rows.size() == 1000 || i == USERS - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into users (first_name, last_name, email, password, active, created_at) values (?, ?, ?, ?, ?, ?)",
+                        rows);
+                rows.clear();
+            }
+        }
+
+        context.getBean(EmailFilterService.class).rebuild();
+        context.getBean(RecentUsersService.class).rebuild();
+        context.getBean(UserCountersService.class).reconcile();
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from users", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private Map<String, Object> summarize(List<Sample> samples, double elapsedSeconds) {
+        long[] latencies = samples.stream().mapToLong(Sample::nanos).sorted().toArray();
+        Map<Integer, Long> statuses = new TreeMap<>();
+        samples.forEach(sample -> statuses.merge(sample.status(), 1L, Long::sum));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", latencies.length);
+        summary.put("throughputPerSecond", round(latencies.length / elapsedSeconds));
+        summary.put("p50Millis", percentile(latencies, 0.50));
+        summary.put("p95Millis", percentile(latencies, 0.95));
+        summary.put("p99Millis", percentile(latencies, 0.99));
+        summary.put("maxMillis", latencies.length == 0 ? 0 : round(latencies[latencies.length - 1] / 1_000_000.0));
+        summary.put("statuses", statuses);
+        return summary;
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return round(sortedLatencies[Math.max(0, index)] / 1_000_000.0);
+    }
+
+    private double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private boolean isExpected(Operation operation, int status) {
+        return switch (operation) {
+            case CREATE -> status == 201;
+            case LIST, CREATED_LAST_DAY -> status == 200;
+            case DEACTIVATE, DELETE -> status == 204;
+        };
+    }
+
+    @Test
+    void mixedTrafficLoadTest() throws Exception {
+        try (ConfigurableApplicationContext context = start();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            long maxSeededId = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            RequestFactory requests = new RequestFactory("http://localhost:" + port, MIX, maxSeededId);
+
+            // Warm up the JIT, the connection pool and Tomcat with reads only, so the seeded data stays intact
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                client.send(requests.build(Operation.LIST), HttpResponse.BodyHandlers.discarding());
+            }
+
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            Sample[] samples = new Sample[REQUESTS];
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                Operation operation = requests.pick();
+                HttpRequest request = requests.build(operation);
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    int status = -1;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        // Recorded as status -1
+                    } finally {
+                        samples[index] = new Sample(operation, System.nanoTime() - requestStart, status);
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            long unexpected = 0;
+            for (Operation operation : Operation.values()) {
+                List<Sample> operationSamples = Arrays.stream(samples).filter(sample -> sample.operation() == operation).toList();
+                if (!operationSamples.isEmpty()) {
+                    endpoints.put(operation.name, summarize(operationSamples, elapsedSeconds));
+                    unexpected += operationSamples.stream().filter(sample -> !isExpected(operation, sample.status())).count();
+                }
+            }
+            Map<String, Object> configuration = new LinkedHashMap<>();
+            configuration.put("seededUsers", USERS);
+            configuration.put("requests", REQUESTS);
+            configuration.put("concurrency", CONCURRENCY);
+            configuration.put("pageSize", PAGE_SIZE);
+            configuration.put("mix", MIX);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("configuration", configuration);
+            report.put("elapsedSeconds", round(elapsedSeconds));
+            report.put("total", summarize(Arrays.asList(samples), elapsedSeconds));
+            report.put("endpoints", endpoints);
+
+            File output = new File(OUTPUT);
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            objectMapper.writeValue(output, report);
+            System.out.printf("%nLoad test: %d seeded users, %d requests, concurrency %d, mix %s%n", USERS, REQUESTS, CONCURRENCY, MIX);
+            System.out.println(objectMapper.writeValueAsString(endpoints));
+            System.out.println("Results written to " + output.getAbsolutePath());
+
+            // Rejected signups (503) are how the hashing pool sheds load, so only transport failures fail the run
+            assertThat(Arrays.stream(samples).filter(sample -> sample.status() == -1)).isEmpty();
+            System.out.println("Responses with an unexpected status: " + unexpected);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.userAdministrationApplication.benchmarks;
+
+import com.example.userAdministrationApplication.UserAdministrationApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures time-to-first-request: from launching a fresh JVM until {@code GET /users} answers {@code 200}.
+ * Compares the default configuration with the {@code fast-startup} profile and, when {@code ./mvnw -Pfast-startup
+ * package} has been run, with the extracted jar using the AOT bean definitions and the class data sharing archive.
+ * Every mode runs against the same file data base in a temporary directory, which the first run migrates.
+ * Run with {@code ./mvnw -Pbenchmark test -Dtest=StartupBenchmarkTests}; the knobs below are system properties.
+ */
+@Tag("benchmark")
+public class StartupBenchmarkTests {
+    private final static int RUNS = Integer.getInteger("startup.runs", 3);
+    private final static Duration TIMEOUT = Duration.ofSeconds(Long.getLong("startup.timeoutSeconds", 120));
+    private final static Path FAST_STARTUP_DIRECTORY = Path.of(System.getProperty("startup.directory", "target/fast-startup"));
+    private final static Path LOG_DIRECTORY = Path.of("target/startup-logs");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private record Mode(String name, List<String> jvmArguments, List<String> applicationArguments) {
+    }
+
+    private record Result(String mode, long medianMillis, long minMillis, long maxMillis) {
+        @Override
+        public String toString() {
+            return String.format("%-24s median %6d ms   min %6d ms   max %6d ms", mode, medianMillis, minMillis, maxMillis);
+        }
+    }
+
+    @Test
+    void timeToFirstRequestTest(@TempDir Path dataDirectory) throws Exception {
+        Files.createDirectories(LOG_DIRECTORY);
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        List<String> fromClasspath = List.of("-cp", classpath, UserAdministrationApplication.class.getName());
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("default", fromClasspath, List.of()));
+        modes.add(new Mode("fast-startup", fromClasspath, List.of("--spring.profiles.active=fast-startup")));
+        Path archive = FAST_STARTUP_DIRECTORY.resolve("application.jsa");
+        Path jar = extractedJar();
+        if (Files.exists(archive) && jar != null) {
+            modes.add(new Mode("fast-startup aot+cds",
+                    List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off",
+                            "-Dspring.aot.enabled=true", "-jar", jar.toString()),
+                    List.of("--spring.profiles.active=fast-startup")));
+        } else {
+            System.out.println("No CDS archive in " + FAST_STARTUP_DIRECTORY + ", run ./mvnw -Pfast-startup package to include AOT and CDS");
+        }
+
+        String dataSourceUrl = "jdbc:h2:file:" + dataDirectory.resolve("startup").toAbsolutePath();
+        List<Result> results = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstRequest(mode, run, dataSourceUrl);
+            }
+            Arrays.sort(millis);
+            results.add(new Result(mode.name(), millis[RUNS / 2], millis[0], millis[RUNS - 1]));
+        }
+
+        System.out.println();
+        System.out.println("Time to first request over " + RUNS + " runs");
+        results.forEach(System.out::println);
+        System.out.println();
+    }
+
+    private long timeToFirstRequest(Mode mode, int run, String dataSourceUrl) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=" + dataSourceUrl);
+        // Every poll comes from the same address
+        command.add("--user-administration.rate-limit.enabled=false");
+        command.addAll(mode.applicationArguments());
+
+        File log = LOG_DIRECTORY.resolve(mode.name().replace(' ', '-') + "-" + run + ".log").toFile();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                assertThat(process.isAlive()).as("%s exited during startup, see %s", mode.name(), log).isTrue();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError(mode.name() + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Path extractedJar() throws IOException {
+        if (!Files.isDirectory(FAST_STARTUP_DIRECTORY)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(FAST_STARTUP_DIRECTORY)) {
+            return files.filter(file -> file.toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
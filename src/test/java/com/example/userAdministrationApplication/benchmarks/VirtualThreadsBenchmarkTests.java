@@ -0,0 +1,166 @@
+package com.example.userAdministrationApplication.benchmarks;
+
+import com.example.userAdministrationApplication.UserAdministrationApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the platform-thread and virtual-thread modes under a slow data base, where every statement waits
+ * {@code benchmark.dbDelayMs} while holding its pooled connection.
+ * Run with {@code ./mvnw -Pbenchmark test -Dtest=VirtualThreadsBenchmarkTests}; the knobs below are system properties.
+ */
+@Tag("benchmark")
+public class VirtualThreadsBenchmarkTests {
+    private final static long DB_DELAY_MS = Long.getLong("benchmark.dbDelayMs", 25);
+    private final static int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private final static int REQUESTS = Integer.getInteger("benchmark.requests", 4000);
+    private final static int TOMCAT_THREADS = Integer.getInteger("benchmark.tomcatThreads", 50);
+    private final static int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 100);
+
+    private record Result(String mode, double throughput, long p50Millis, long p99Millis, long maxMillis, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%-16s %10.1f req/s   p50 %5d ms   p99 %5d ms   max %5d ms   errors %d",
+                    mode, throughput, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+
+    /**
+     * Delays every statement to simulate a stalled data base; the delay happens while the pooled connection is held.
+     */
+    private static class SlowDataSourcePostProcessor implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slowConnection(super.getConnection());
+                }
+            };
+        }
+
+        private Connection slowConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{ Connection.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                            Thread.sleep(DB_DELAY_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        return new SpringApplicationBuilder(UserAdministrationApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new SlowDataSourcePostProcessor()))
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "logging.level.com.example=WARN")
+                .run();
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(mode, virtualThreads);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?page=0&limit=10"))
+                    .GET()
+                    .build();
+
+            // Warm up the JIT, the connection pool and Tomcat before measuring
+            for (int i = 0; i < 50; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            AtomicInteger errors = new AtomicInteger();
+            long[] latencies = new long[REQUESTS];
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - requestStart;
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(
+                    mode,
+                    REQUESTS / (elapsed / 1_000_000_000.0),
+                    latencies[(int) (REQUESTS * 0.50)] / 1_000_000,
+                    latencies[(int) (REQUESTS * 0.99)] / 1_000_000,
+                    latencies[REQUESTS - 1] / 1_000_000,
+                    errors.get());
+        }
+    }
+
+    @Test
+    void platformVersusVirtualThreadsUnderSlowDbBenchmark() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.printf("%nSlow DB benchmark: %d requests, concurrency %d, %d ms per statement, %d Tomcat threads, pool %d%n",
+                REQUESTS, CONCURRENCY, DB_DELAY_MS, TOMCAT_THREADS, POOL_SIZE);
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+}
@@ -1,38 +1,80 @@
 package com.example.userAdministrationApplication.controllers;
 
+import com.example.userAdministrationApplication.configurations.ExportProperties;
+import com.example.userAdministrationApplication.configurations.PasswordPolicyProperties;
+import com.example.userAdministrationApplication.configurations.RateLimitProperties;
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
 import com.example.userAdministrationApplication.exceptions.DbConnectionException;
-import com.example.userAdministrationApplication.exceptions.InvalidPasswordException;
+import com.example.userAdministrationApplication.exceptions.HashingOverloadedException;
+import com.example.userAdministrationApplication.exceptions.InvalidCredentialsException;
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import com.example.userAdministrationApplication.exceptions.SearchUnavailableException;
 import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.exceptions.UserNotFoundException;
+import com.example.userAdministrationApplication.modules.dtos.ImportErrorDto;
 import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.AuthenticateRequest;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.ImportUsersResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
+import com.example.userAdministrationApplication.services.DeactivationBufferService;
+import com.example.userAdministrationApplication.services.PasswordPolicyServiceImpl;
+import com.example.userAdministrationApplication.services.RateLimitService;
 import com.example.userAdministrationApplication.services.UserAdministrationService;
+import com.example.userAdministrationApplication.services.UserExportService;
+import com.example.userAdministrationApplication.services.UserImportService;
+import com.example.userAdministrationApplication.services.UserSearchService;
+import com.example.userAdministrationApplication.utils.CursorUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserAdministrationController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(ControllersAdvice.class)
+@Import({ ControllersAdvice.class, PasswordPolicyServiceImpl.class })
+@EnableConfigurationProperties({ PasswordPolicyProperties.class, RateLimitProperties.class, ExportProperties.class })
 public class UserAdministrationControllerTests {
     @Autowired
     private MockMvc mockMvc;
@@ -43,13 +85,28 @@ public class UserAdministrationControllerTests {
     @MockitoBean
     private UserAdministrationService userAdministrationService;
 
+    @MockitoBean
+    private UserImportService userImportService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
+    @MockitoBean
+    private DeactivationBufferService deactivationBufferService;
+
+    @MockitoBean
+    private UserSearchService userSearchService;
+
+    // Only needed to create the rate limit filter, which is not applied to these requests
+    @MockitoBean
+    private RateLimitService rateLimitService;
+
     private UserDto dummyUserDto() {
         return new UserDto(
                 1L,
                 "Li",
                 "Alush",
                 "li.alush@example.com",
-                "hashedPass",
                 true,
                 LocalDateTime.now()
         );
@@ -60,7 +117,7 @@ public class UserAdministrationControllerTests {
                     "firstName": "Li",
                     "lastName": "Alush",
                     "email": "li.alush@example.com",
-                    "password": "aA1@"
+                    "password": "aA1@aA1@aA1@"
                 }
                 """;
 
@@ -119,14 +176,23 @@ public class UserAdministrationControllerTests {
 
     @Test
     void createNewUserWithInvalidLengthPasswordTest() throws Exception {
-        when(userAdministrationService.createNewUser(any(CreateNewUserRequest.class)))
-                .thenThrow(new InvalidPasswordException("example.com"));
+        String shortPasswordRequest = """
+                {
+                    "firstName": "Li",
+                    "lastName": "Alush",
+                    "email": "li.alush@example.com",
+                    "password": "Short1!"
+                }
+                """;
 
         mockMvc.perform(post("/users")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(REQUEST))
+                        .content(shortPasswordRequest))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string("Password for users with email suffix \"example.com\" must have at least 12 characters"));
+                .andExpect(jsonPath("$.errors.password",
+                        containsString("email domain \"example.com\" must be at least 12 characters long")));
+
+        verify(userAdministrationService, never()).createNewUser(any());
     }
 
 
@@ -142,12 +208,100 @@ public class UserAdministrationControllerTests {
                 .andExpect(content().string("DB unreachable"));
     }
 
+    @Test
+    void createUserHashingOverloadedTest() throws Exception {
+        when(userAdministrationService.createNewUser(any(CreateNewUserRequest.class)))
+                .thenThrow(new HashingOverloadedException());
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void authenticateTest() throws Exception {
+        UserDto dto = dummyUserDto();
+        when(userAdministrationService.authenticate(any(AuthenticateRequest.class)))
+                .thenReturn(new UserResponse(dto));
+
+        mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"li.alush@example.com\", \"password\": \"aA1@\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.id", is(dto.getId().intValue())))
+                .andExpect(jsonPath("$.user.password").doesNotExist());
+    }
+
+    @Test
+    void authenticateInvalidCredentialsTest() throws Exception {
+        when(userAdministrationService.authenticate(any(AuthenticateRequest.class)))
+                .thenThrow(new InvalidCredentialsException());
+
+        mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"li.alush@example.com\", \"password\": \"wrong\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Email or password is not valid"));
+    }
+
+    @Test
+    void authenticateValidationErrorsTest() throws Exception {
+        mockMvc.perform(post("/users/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.email", not(emptyOrNullString())))
+                .andExpect(jsonPath("$.errors.password", not(emptyOrNullString())));
+
+        verify(userAdministrationService, never()).authenticate(any());
+    }
+
+    @Test
+    void getAllUsersNotModifiedTest() throws Exception {
+        when(userAdministrationService.getUsersVersion()).thenReturn(Optional.of("a1-7"));
+
+        mockMvc.perform(get("/users").header("If-None-Match", "\"a1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"a1-7\""))
+                .andExpect(content().string(""));
+
+        verify(userAdministrationService, never()).getAllUsers(anyInt(), anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    void getAllUsersChangedVersionTest() throws Exception {
+        when(userAdministrationService.getUsersVersion()).thenReturn(Optional.of("a1-8"));
+        when(userAdministrationService.getAllUsers(0, 10, true, UserField.ALL))
+                .thenReturn(new GetUsersResponse(List.of(dummyUserDto()), 1L, 1, false));
+
+        mockMvc.perform(get("/users").header("If-None-Match", "\"a1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a1-8\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.user", hasSize(1)));
+    }
+
+    @Test
+    void getCreatedUsersLastDayNotModifiedTest() throws Exception {
+        when(userAdministrationService.getCreatedUsersLastDayVersion()).thenReturn(Optional.of("a1-7-none"));
+
+        mockMvc.perform(get("/users/createdLastDay").header("If-None-Match", "\"a1-7-none\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/users/createdLastDay").param("after", "").header("If-None-Match", "\"a1-7-none\""))
+                .andExpect(status().isNotModified());
+
+        verify(userAdministrationService, never()).getCreatedUsersLastDay(anyInt(), anyInt(), anyBoolean(), any());
+        verify(userAdministrationService, never()).getCreatedUsersLastDayAfter(any(), anyInt(), any());
+    }
+
     @Test
     void getAllUsersTest() throws Exception {
         UserDto dto1 = dummyUserDto();
-        UserDto dto2 = new UserDto(2L, "Jane", "Dow", "jane.dow@example.com", "pass", true, LocalDateTime.now());
-        when(userAdministrationService.getAllUsers(0, 10))
-                .thenReturn(new GetUsersResponse(List.of(dto1, dto2), 2L, 1));
+        UserDto dto2 = new UserDto(2L, "Jane", "Dow", "jane.dow@example.com", true, LocalDateTime.now());
+        when(userAdministrationService.getAllUsers(0, 10, true, UserField.ALL))
+                .thenReturn(new GetUsersResponse(List.of(dto1, dto2), 2L, 1, false));
 
         mockMvc.perform(get("/users?page=0&limit=10"))
                 .andExpect(status().isOk())
@@ -156,12 +310,123 @@ public class UserAdministrationControllerTests {
                 .andExpect(jsonPath("$.user[0].email", is(dto1.getEmail())))
                 .andExpect(jsonPath("$.user[1].email", is(dto2.getEmail())))
                 .andExpect(jsonPath("$.totalCount", is(2)))
-                .andExpect(jsonPath("$.totalPages", is(1)));
+                .andExpect(jsonPath("$.totalPages", is(1)))
+                .andExpect(jsonPath("$.user[0].password").doesNotExist());
+    }
+
+    @Test
+    void getAllUsersSparseFieldsTest() throws Exception {
+        UserDto dto = new UserDto(1L, null, null, "li.alush@example.com", null, null);
+        when(userAdministrationService.getAllUsers(0, 10, true, Set.of(UserField.ID, UserField.EMAIL)))
+                .thenReturn(new GetUsersResponse(List.of(dto), 1L, 1, false));
+
+        mockMvc.perform(get("/users").param("fields", "id, email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user[0].id", is(1)))
+                .andExpect(jsonPath("$.user[0].email", is(dto.getEmail())))
+                .andExpect(jsonPath("$.user[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$.user[0].createdAt").doesNotExist());
+    }
+
+    @Test
+    void getAllUsersWithFilterAndSortTest() throws Exception {
+        when(userAdministrationService.getUsersVersion()).thenReturn(Optional.of("a1-7"));
+        when(userAdministrationService.getUsers(any(), any(), eq(0), eq(10), eq(true), eq(UserField.ALL)))
+                .thenReturn(new GetUsersResponse(List.of(dummyUserDto()), 1L, 1, false));
+
+        mockMvc.perform(get("/users")
+                        .param("active", "true")
+                        .param("createdFrom", "2025-11-01T00:00:00")
+                        .param("emailDomain", "@Example.com")
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user", hasSize(1)))
+                .andExpect(header().string("ETag", "\"a1-7\""));
+
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        ArgumentCaptor<UserSort> sort = ArgumentCaptor.forClass(UserSort.class);
+        verify(userAdministrationService).getUsers(filter.capture(), sort.capture(), eq(0), eq(10), eq(true), eq(UserField.ALL));
+        assertEquals(true, filter.getValue().getActive());
+        assertEquals(LocalDateTime.of(2025, 11, 1, 0, 0), filter.getValue().getCreatedFrom());
+        assertNull(filter.getValue().getCreatedTo());
+        assertEquals("example.com", filter.getValue().getEmailDomain());
+        assertEquals(UserSort.Property.CREATED_AT, sort.getValue().getProperty());
+        assertEquals(Sort.Direction.DESC, sort.getValue().getDirection());
+        verify(userAdministrationService, never()).getAllUsers(anyInt(), anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    void getAllUsersInvalidSortTest() throws Exception {
+        mockMvc.perform(get("/users").param("sort", "password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Sort \"password\" is not valid, use id, createdAt or email, optionally followed by ,asc or ,desc"));
+        mockMvc.perform(get("/users").param("sort", "email,up"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userAdministrationService);
+    }
+
+    @Test
+    void getAllUsersInvalidCreationRangeTest() throws Exception {
+        mockMvc.perform(get("/users").param("createdFrom", "2025-11-02T00:00:00").param("createdTo", "2025-11-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("createdFrom must be before createdTo"));
+        mockMvc.perform(get("/users").param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userAdministrationService);
+    }
+
+    @Test
+    void getAllUsersUnsupportedSortForFilterTest() throws Exception {
+        when(userAdministrationService.getUsersVersion()).thenReturn(Optional.empty());
+        when(userAdministrationService.getUsers(any(), any(), anyInt(), anyInt(), anyBoolean(), any()))
+                .thenThrow(new InvalidUserQueryException("Sort \"id\" cannot be combined with the active filter, sort by createdAt instead"));
+
+        mockMvc.perform(get("/users").param("active", "false").param("sort", "id"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Sort \"id\" cannot be combined with the active filter, sort by createdAt instead"));
+    }
+
+    @Test
+    void getAllUsersInvalidFieldTest() throws Exception {
+        mockMvc.perform(get("/users").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Field \"password\" is not valid, use id, firstName, lastName, email, active or createdAt"));
+        verifyNoInteractions(userAdministrationService);
+    }
+
+    @Test
+    void getUserTest() throws Exception {
+        UserDto dto = dummyUserDto();
+        when(userAdministrationService.getUser(dto.getId())).thenReturn(new UserResponse(dto));
+
+        mockMvc.perform(get("/users/{id}", dto.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.id", is(dto.getId().intValue())))
+                .andExpect(jsonPath("$.user.email", is(dto.getEmail())));
+    }
+
+    @Test
+    void getUserNotFoundTest() throws Exception {
+        when(userAdministrationService.getUser(42L)).thenThrow(new UserNotFoundException(42L));
+
+        mockMvc.perform(get("/users/{id}", 42L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("User with id 42 does not exist"));
+    }
+
+    @Test
+    void getUserCircuitBreakerOpenTest() throws Exception {
+        when(userAdministrationService.getUser(5L)).thenThrow(new CircuitBreakerOpenException(Duration.ofMillis(2500)));
+
+        mockMvc.perform(get("/users/{id}", 5L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(content().string("Data base is unavailable, please retry later"));
     }
 
     @Test
     void getAllUsersDbErrorTest() throws Exception {
-        when(userAdministrationService.getAllUsers(0, 10))
+        when(userAdministrationService.getAllUsers(0, 10, true, UserField.ALL))
                 .thenThrow(new DbConnectionException("DB unreachable"));
 
         mockMvc.perform(get("/users?page=0&limit=10"))
@@ -169,22 +434,79 @@ public class UserAdministrationControllerTests {
                 .andExpect(content().string("DB unreachable"));
     }
 
+    @Test
+    void searchUsersTest() throws Exception {
+        when(userSearchService.search("li al", 5)).thenReturn(new ArrayList<>(List.of(dummyUserDto())));
+
+        mockMvc.perform(get("/users/search").param("q", "li al").param("limit", "5").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user[0].id", is(1)))
+                .andExpect(jsonPath("$.user[0].email", is("li.alush@example.com")))
+                .andExpect(jsonPath("$.user[0].firstName").doesNotExist());
+    }
+
+    @Test
+    void searchUsersBlankQueryTest() throws Exception {
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        verify(userSearchService, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void searchUsersIndexNotReadyTest() throws Exception {
+        when(userSearchService.search("li", 10)).thenThrow(new SearchUnavailableException());
+
+        mockMvc.perform(get("/users/search").param("q", "li"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
     @Test
     void deactivateUserTest() throws Exception {
+        when(deactivationBufferService.deactivate(5L, false)).thenReturn(true);
+
         mockMvc.perform(put("/users/deactivate/{id}", 5L))
                 .andExpect(status().isNoContent());
-        verify(userAdministrationService).deactivateUser(eq(5L));
+        verify(deactivationBufferService).deactivate(eq(5L), eq(false));
+    }
+
+    @Test
+    void deactivateUserAsyncTest() throws Exception {
+        when(deactivationBufferService.deactivate(5L, true)).thenReturn(false);
+
+        mockMvc.perform(put("/users/deactivate/{id}", 5L).param("async", "true"))
+                .andExpect(status().isAccepted());
     }
 
     @Test
     void deactivateUserDbErrorTest() throws Exception {
-        doThrow(new DbConnectionException("DB unreachable")).when(userAdministrationService).deactivateUser(eq(5L));
+        doThrow(new DbConnectionException("DB unreachable")).when(deactivationBufferService).deactivate(eq(5L), eq(false));
 
         mockMvc.perform(put("/users/deactivate/{id}", 5L))
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string("DB unreachable"));
     }
 
+    @Test
+    void deactivateUsersTest() throws Exception {
+        when(userAdministrationService.deactivateUsers(List.of(1L, 2L, 3L))).thenReturn(2);
+
+        mockMvc.perform(put("/users/deactivate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedCount").value(2));
+    }
+
+    @Test
+    void deactivateUsersEmptyIdsTest() throws Exception {
+        mockMvc.perform(put("/users/deactivate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        verify(userAdministrationService, never()).deactivateUsers(any());
+    }
+
   @Test
     void deleteUserTest() throws Exception {
         mockMvc.perform(delete("/users/{id}", 5L))
@@ -201,11 +523,33 @@ public class UserAdministrationControllerTests {
                 .andExpect(content().string("DB unreachable"));
     }
 
+    @Test
+    void deleteUsersTest() throws Exception {
+        when(userAdministrationService.deleteUsers(List.of(7L, 8L))).thenReturn(2);
+
+        mockMvc.perform(delete("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[7,8]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedCount").value(2));
+    }
+
+    @Test
+    void deleteUsersDbErrorTest() throws Exception {
+        when(userAdministrationService.deleteUsers(List.of(7L))).thenThrow(new DbConnectionException("DB unreachable"));
+
+        mockMvc.perform(delete("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[7]}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("DB unreachable"));
+    }
+
     @Test
     void getCreatedUsersLastDayTest() throws Exception {
         UserDto dto = dummyUserDto();
-        when(userAdministrationService.getCreatedUsersLastDay(0, 10))
-                .thenReturn(new GetUsersResponse(List.of(dto), 1L, 1));
+        when(userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL))
+                .thenReturn(new GetUsersResponse(List.of(dto), 1L, 1, false));
 
         mockMvc.perform(get("/users/createdLastDay?page=0&limit=10"))
                 .andExpect(status().isOk())
@@ -217,11 +561,122 @@ public class UserAdministrationControllerTests {
 
     @Test
     void getCreatedUsersLastDay_dbError() throws Exception {
-        when(userAdministrationService.getCreatedUsersLastDay(0, 10))
+        when(userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL))
                 .thenThrow(new DbConnectionException("DB unreachable"));
 
         mockMvc.perform(get("/users/createdLastDay?page=0&limit=10"))
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string("DB unreachable"));
     }
+
+    @Test
+    void getAllUsersFirstCursorPageTest() throws Exception {
+        UserDto dto = dummyUserDto();
+        when(userAdministrationService.getAllUsersAfter(isNull(), eq(1), eq(UserField.ALL)))
+                .thenReturn(new GetUsersCursorResponse(List.of(dto), "next"));
+
+        mockMvc.perform(get("/users?after=&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user", hasSize(1)))
+                .andExpect(jsonPath("$.user[0].email", is(dto.getEmail())))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void getAllUsersAfterCursorTest() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 12, 10, 30);
+        String cursor = CursorUtil.encode(createdAt, 7L);
+        when(userAdministrationService.getAllUsersAfter(new CursorUtil.Cursor(createdAt, 7L), 10, UserField.ALL))
+                .thenReturn(new GetUsersCursorResponse(List.of(), null));
+
+        mockMvc.perform(get("/users").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void getAllUsersInvalidCursorTest() throws Exception {
+        mockMvc.perform(get("/users?after=not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cursor \"not-a-cursor\" is not valid"));
+        verifyNoInteractions(userAdministrationService);
+    }
+
+    @Test
+    void getCreatedUsersLastDayAfterCursorDbErrorTest() throws Exception {
+        when(userAdministrationService.getCreatedUsersLastDayAfter(isNull(), eq(10), eq(UserField.ALL)))
+                .thenThrow(new DbConnectionException("DB unreachable"));
+
+        mockMvc.perform(get("/users/createdLastDay?after="))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string("DB unreachable"));
+    }
+
+    @Test
+    void importUsersNdjsonTest() throws Exception {
+        when(userImportService.importUsers(any(InputStream.class), eq(UserFileFormat.NDJSON)))
+                .thenReturn(new ImportUsersResponse(2, 1, 1,
+                        List.of(new ImportErrorDto(2, "li.alush@example.com", "User with email \"li.alush@example.com\" already exist"))));
+
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(REQUEST.replace("\n", "") + "\n" + REQUEST.replace("\n", "")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows", is(2)))
+                .andExpect(jsonPath("$.importedCount", is(1)))
+                .andExpect(jsonPath("$.failedCount", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].email", is("li.alush@example.com")));
+    }
+
+    @Test
+    void importUsersCsvTest() throws Exception {
+        when(userImportService.importUsers(any(InputStream.class), eq(UserFileFormat.CSV)))
+                .thenReturn(new ImportUsersResponse(1, 1, 0, List.of()));
+
+        mockMvc.perform(post("/users/import")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email,password\nLi,Alush,li.alush@test.com,aA1@"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount", is(1)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+
+    @Test
+    void importUsersUnsupportedContentTypeTest() throws Exception {
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<users/>"))
+                .andExpect(status().isUnsupportedMediaType());
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    void exportUsersCsvTest() throws Exception {
+        when(userExportService.exportUsers(any(OutputStream.class), eq(UserFileFormat.CSV)))
+                .thenAnswer(inv -> {
+                    inv.getArgument(0, OutputStream.class).write("id,email\n1,li.alush@example.com\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        var result = mockMvc.perform(get("/users/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,email\n1,li.alush@example.com\n"));
+    }
+
+    @Test
+    void exportUsersUnsupportedFormatTest() throws Exception {
+        mockMvc.perform(get("/users/export?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("File format \"xml\" is not supported, use ndjson or csv"));
+        verifyNoInteractions(userExportService);
+    }
 }
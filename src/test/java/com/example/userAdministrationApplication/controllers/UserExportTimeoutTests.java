@@ -0,0 +1,78 @@
+package com.example.userAdministrationApplication.controllers;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Streams an export through a real server for longer than the default async request timeout, which is set very
+ * short here, and checks that the export's own timeout lets it finish.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:exporttimeout;DB_CLOSE_DELAY=-1",
+        "spring.mvc.async.request-timeout=200ms",
+        "user-administration.rate-limit.enabled=false"
+})
+public class UserExportTimeoutTests {
+    private final static int USERS = 30;
+    private final static long ROW_DELAY_MILLIS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private UserAdministrationRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void exportStreamsPastTheDefaultAsyncTimeoutTest() throws Exception {
+        repository.deleteAll();
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new UserEntity(new CreateNewUserRequest("Li", "Alush", "export" + i + "@test.com", "SecurePass123!"), "hash"));
+        }
+        repository.saveAll(users);
+        // Every row takes a while, so the export runs well past the default async timeout, which Tomcat checks every second
+        doAnswer(invocation -> entityManager.createQuery("select u from UserEntity u order by u.id", UserEntity.class)
+                .getResultStream()
+                .peek(user -> sleep()))
+                .when(repository).streamAllByOrderByIdAsc();
+
+        HttpResponse<String> response;
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/export")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+        }
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<String> lines = response.body().lines().toList();
+        assertThat(lines).hasSize(USERS);
+        assertThat(lines.getLast()).contains("export" + (USERS - 1) + "@test.com");
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(ROW_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
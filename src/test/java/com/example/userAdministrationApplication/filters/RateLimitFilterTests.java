@@ -0,0 +1,107 @@
+package com.example.userAdministrationApplication.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;DB_CLOSE_DELAY=-1",
+        "user-administration.rate-limit.write-capacity=2",
+        "user-administration.rate-limit.write-refill-per-second=0.1",
+        "user-administration.rate-limit.read-capacity=5",
+        "user-administration.rate-limit.read-refill-per-second=0.1",
+        "user-administration.rate-limit.authenticate-capacity=2",
+        "user-administration.rate-limit.authenticate-refill-per-second=0.1",
+        "user-administration.rate-limit.api-keys=client-a"
+})
+@AutoConfigureMockMvc
+public class RateLimitFilterTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    private MockHttpServletRequestBuilder invalidCreate(String remoteAddress) {
+        return post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+
+    @Test
+    void writesOverTheLimitAreRejectedWithRetryAfterTest() throws Exception {
+        mockMvc.perform(invalidCreate("10.0.0.1")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidCreate("10.0.0.1")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(invalidCreate("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(content().string("Too many requests, please retry later"));
+
+        // Reads, other addresses and API keys have their own buckets
+        mockMvc.perform(get("/users").with(request -> {
+            request.setRemoteAddr("10.0.0.1");
+            return request;
+        })).andExpect(status().isOk());
+        mockMvc.perform(invalidCreate("10.0.0.2")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidCreate("10.0.0.1").header("X-API-Key", "client-a")).andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder invalidAuthenticate(String remoteAddress) {
+        return post("/users/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddress);
+                    return request;
+                });
+    }
+
+    @Test
+    void authenticationHasItsOwnBucketTest() throws Exception {
+        mockMvc.perform(invalidCreate("10.0.0.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidCreate("10.0.0.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidCreate("10.0.0.5")).andExpect(status().isTooManyRequests());
+
+        // Signups used up the write bucket, signing in is still allowed until its own bucket is empty
+        mockMvc.perform(invalidAuthenticate("10.0.0.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidAuthenticate("10.0.0.5")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidAuthenticate("10.0.0.5"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+        mockMvc.perform(get("/users").with(request -> {
+            request.setRemoteAddr("10.0.0.5");
+            return request;
+        })).andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownApiKeysShareTheAddressBucketTest() throws Exception {
+        mockMvc.perform(invalidCreate("10.0.0.4").header("X-API-Key", "random-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(invalidCreate("10.0.0.4").header("X-API-Key", "random-2")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(invalidCreate("10.0.0.4").header("X-API-Key", "random-3")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(invalidCreate("10.0.0.4")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void onlyUserEndpointsAreLimitedTest() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/actuator/health").with(request -> {
+                request.setRemoteAddr("10.0.0.3");
+                return request;
+            })).andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.userAdministrationApplication.repositories;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs H2 {@code EXPLAIN} on the SQL Hibernate generates for each repository query and checks that the plan seeks
+ * the expected index instead of scanning the table. Statements are captured with a {@link StatementInspector}, so
+ * the test follows the queries as the repository changes. H2 plans by cost, so the table is filled and analyzed first.
+ * Queries that read the whole table by design, such as exports, filter builds and unsorted pages, are not covered.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.userAdministrationApplication.repositories.UserQueryPlanTests$RecordingStatementInspector"
+})
+public class UserQueryPlanTests {
+    private final static String EMAIL_INDEX = "UX_USERS_EMAIL_NORMALIZED";
+    private final static String CREATED_AT_INDEX = "IX_USERS_CREATED_AT_ID";
+    private final static String ACTIVE_INDEX = "IX_USERS_ACTIVE_CREATED_AT_ID";
+    private final static String EMAIL_DOMAIN_INDEX = "IX_USERS_EMAIL_DOMAIN_CREATED_AT_ID";
+    private final static String PRIMARY_KEY = "PRIMARY_KEY";
+    private final static int USERS = 5000;
+
+    private final static List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private UserAdministrationRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Set<UserField> fields = EnumSet.allOf(UserField.class);
+    private final LocalDateTime since = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users");
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            rows.add(new Object[]{ "user" + i + "@domain" + (i % 200) + ".com", i % 2 == 0, now.minusMinutes(i) });
+        }
+        jdbcTemplate.batchUpdate("insert into users (first_name, last_name, email, password, active, created_at) "
+                + "values ('Li', 'Alush', ?, 'hash', ?, ?)", rows);
+        jdbcTemplate.execute("analyze");
+        statements.clear();
+    }
+
+    /**
+     * Runs the query in a transaction that is rolled back and returns the plan of the one statement it issued.
+     */
+    private String plan(Consumer<UserAdministrationRepository> query) {
+        List<String> plans = plans(query);
+        assertEquals(1, plans.size(), () -> "Expected one statement, got " + statements);
+        return plans.getFirst();
+    }
+
+    /**
+     * Runs the query in a transaction that is rolled back and returns the plans of the statements it issued.
+     */
+    private List<String> plans(Consumer<UserAdministrationRepository> query) {
+        statements.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            query.accept(repository);
+            status.setRollbackOnly();
+        });
+        return statements.stream().map(sql -> jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql);
+                 ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        })).toList();
+    }
+
+    private void assertSeeks(String index, Consumer<UserAdministrationRepository> query) {
+        List<String> plans = plans(query);
+        assertFalse(plans.isEmpty(), "Expected a statement");
+        for (String plan : plans) {
+            assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+            // H2 prints the index conditions after its name, a bare name means the whole index is walked
+            assertTrue(plan.toUpperCase().matches("(?s).*" + index + "\\w*: .*"), () -> "Expected a seek on " + index + " in plan:\n" + plan);
+        }
+    }
+
+    @Test
+    void emailLookupsSeekTheNormalizedEmailIndexTest() {
+        assertSeeks(EMAIL_INDEX, repository -> repository.existsByEmailNormalized("user1@domain1.com"));
+        assertSeeks(EMAIL_INDEX, repository -> repository.findByEmailNormalized("user1@domain1.com"));
+        assertSeeks(EMAIL_INDEX, repository -> repository.findExistingEmails(List.of("user1@domain1.com", "user2@domain2.com")));
+    }
+
+    @Test
+    void recentUserQueriesSeekTheCreatedAtIndexTest() {
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.findByCreatedAtAfter(since));
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.countByCreatedAtAfter(since));
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.countCreatedPerHourSince(since));
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.findUsers(fields, since, PageRequest.of(0, 10)));
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.findUsersAfter(fields, since, 42, 11));
+    }
+
+    @Test
+    void firstCursorPageReadsTheCreatedAtIndexInOrderTest() {
+        String plan = plan(repository -> repository.findUsersAfter(fields, null, 0, 11));
+
+        assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+        assertTrue(plan.contains(CREATED_AT_INDEX) && plan.contains("index sorted"), () -> "Expected an index-ordered read in plan:\n" + plan);
+    }
+
+    /**
+     * Asserts the page is read in order from the index, so it stops after the page instead of sorting every match.
+     */
+    private void assertReadsInOrder(UserListIndex index, UserFilter filter, Sort.Direction direction) {
+        String name = index.getName().toUpperCase().replace(' ', '_');
+        Sort order = index.toSort(direction);
+        String plan = plan(repository -> repository.findUsersMatching(
+                fields, UserSpecifications.matching(filter), PageRequest.of(2, 10, order)));
+
+        assertFalse(plan.contains("tableScan"), () -> "Table scan in plan:\n" + plan);
+        assertTrue(plan.contains(name), () -> "Expected " + name + " in plan:\n" + plan);
+        // A partial match is printed as "index sorted: 1 of 3 columns"
+        assertTrue(plan.contains("/* index sorted */"), () -> "Expected an index-ordered read in plan:\n" + plan);
+    }
+
+    @Test
+    void filteredPagesReadTheirIndexInOrderTest() {
+        LocalDateTime to = LocalDateTime.now().minusMinutes(10);
+        List<UserFilter> filters = List.of(
+                UserFilter.of(null, since, to, null),
+                UserFilter.of(true, null, null, null),
+                UserFilter.of(false, since, null, null),
+                UserFilter.of(null, null, null, "domain7.com"),
+                UserFilter.of(true, since, to, "domain7.com")
+        );
+
+        for (UserFilter filter : filters) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                UserListIndex index = UserListIndex.forQuery(filter, new UserSort(UserSort.Property.CREATED_AT, direction));
+                assertReadsInOrder(index, filter, direction);
+            }
+        }
+    }
+
+    @Test
+    void unfilteredSortsReadTheirIndexInOrderTest() {
+        for (UserSort.Property property : UserSort.Property.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                UserListIndex index = UserListIndex.forQuery(UserFilter.NONE, new UserSort(property, direction));
+                assertReadsInOrder(index, UserFilter.NONE, direction);
+            }
+        }
+    }
+
+    @Test
+    void filteredCountsSeekTheirIndexTest() {
+        assertSeeks(EMAIL_DOMAIN_INDEX, repository -> repository.count(
+                UserSpecifications.matching(UserFilter.of(true, null, null, "domain7.com"))));
+        assertSeeks(ACTIVE_INDEX, repository -> repository.count(
+                UserSpecifications.matching(UserFilter.of(false, since, null, null))));
+        assertSeeks(CREATED_AT_INDEX, repository -> repository.count(
+                UserSpecifications.matching(UserFilter.of(null, since, null, null))));
+    }
+
+    @Test
+    void activeUsersAreCountedThroughTheActiveIndexTest() {
+        assertSeeks(ACTIVE_INDEX, UserAdministrationRepository::countByActiveTrue);
+    }
+
+    @Test
+    void writesByIdSeekThePrimaryKeyTest() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        assertSeeks(PRIMARY_KEY, repository -> repository.findById(1L));
+        assertSeeks(PRIMARY_KEY, repository -> repository.deactivateById(1L));
+        assertSeeks(PRIMARY_KEY, repository -> repository.deactivateByIdIn(ids));
+        assertSeeks(PRIMARY_KEY, repository -> repository.deleteByIdIn(ids));
+        assertSeeks(PRIMARY_KEY, repository -> repository.updatePassword(1L, "hash", "new hash"));
+    }
+}
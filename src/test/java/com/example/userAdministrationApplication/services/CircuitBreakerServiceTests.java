@@ -0,0 +1,113 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.CircuitBreakerProperties;
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerServiceTests {
+    private CircuitBreakerServiceImpl circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(Duration.ofMillis(100));
+        properties.setHalfOpenCalls(2);
+        properties.setRetryBudgetRatio(0.5);
+        properties.setRetryBudgetMaxTokens(2);
+        circuitBreaker = new CircuitBreakerServiceImpl(properties);
+    }
+
+    private void failCalls(int count) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.acquirePermission();
+            circuitBreaker.onFailure();
+        }
+    }
+
+    @Test
+    void staysClosedBelowMinimumCallsTest() {
+        failCalls(3);
+
+        assertEquals("CLOSED", circuitBreaker.getState().getState());
+        assertDoesNotThrow(() -> circuitBreaker.acquirePermission());
+    }
+
+    @Test
+    void opensAtFailureRateThresholdTest() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        failCalls(2);
+
+        assertEquals("OPEN", circuitBreaker.getState().getState());
+        CircuitBreakerOpenException ex = assertThrows(CircuitBreakerOpenException.class,
+                () -> circuitBreaker.acquirePermission());
+        assertTrue(ex.getRetryAfter().toMillis() <= 100);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulTrialCallsTest() throws InterruptedException {
+        failCalls(4);
+        Thread.sleep(150);
+
+        circuitBreaker.acquirePermission();
+        assertEquals("HALF_OPEN", circuitBreaker.getState().getState());
+        circuitBreaker.onSuccess();
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onSuccess();
+
+        assertEquals("CLOSED", circuitBreaker.getState().getState());
+        assertEquals(0, circuitBreaker.getState().getBufferedCalls());
+    }
+
+    @Test
+    void halfOpenLimitsTrialCallsTest() throws InterruptedException {
+        failCalls(4);
+        Thread.sleep(150);
+
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.acquirePermission());
+    }
+
+    @Test
+    void halfOpenFailureReopensTest() throws InterruptedException {
+        failCalls(4);
+        Thread.sleep(150);
+
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onFailure();
+
+        assertEquals("OPEN", circuitBreaker.getState().getState());
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.acquirePermission());
+    }
+
+    @Test
+    void retryBudgetIsSpentAndRefilledByCallsTest() {
+        assertTrue(circuitBreaker.shouldRetry(new DataAccessResourceFailureException("DB unreachable #1")));
+        assertTrue(circuitBreaker.shouldRetry(new DataAccessResourceFailureException("DB unreachable #2")));
+        assertFalse(circuitBreaker.shouldRetry(new DataAccessResourceFailureException("DB unreachable #3")));
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertTrue(circuitBreaker.shouldRetry(new DataAccessResourceFailureException("DB unreachable #4")));
+    }
+
+    @Test
+    void openBreakerIsNeverRetriedTest() {
+        failCalls(4);
+
+        assertFalse(circuitBreaker.shouldRetry(new DataAccessResourceFailureException("DB unreachable")));
+        assertFalse(circuitBreaker.shouldRetry(new CircuitBreakerOpenException(Duration.ofSeconds(1))));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.DataVersionProperties;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a surrounding test transaction, because the version is bumped only after commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:dataversion;DB_CLOSE_DELAY=-1")
+public class DataVersionServiceTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private RecentUsersService recentUsersService;
+
+    @Autowired
+    private UserAdministrationRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataVersionProperties dataVersionProperties;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        recentUsersService.rebuild();
+    }
+
+    private Long createUser(String email) {
+        return userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", email, "SecurePass123!"))
+                .getUser()
+                .getId();
+    }
+
+    @Test
+    void writesChangeTheVersionTest() {
+        String initial = dataVersionService.getVersion();
+        Long id = createUser("version@test.com");
+        String afterCreate = dataVersionService.getVersion();
+
+        userAdministrationService.deactivateUser(id);
+        String afterDeactivate = dataVersionService.getVersion();
+
+        userAdministrationService.deleteUsers(List.of(id));
+        String afterDelete = dataVersionService.getVersion();
+
+        userImportService.importUsers(new ByteArrayInputStream(
+                "{\"firstName\":\"Li\",\"lastName\":\"Alush\",\"email\":\"imported@test.com\",\"password\":\"SecurePass123!\"}\n"
+                        .getBytes(StandardCharsets.UTF_8)), UserFileFormat.NDJSON);
+        String afterImport = dataVersionService.getVersion();
+
+        assertEquals(5, List.of(initial, afterCreate, afterDeactivate, afterDelete, afterImport).stream().distinct().count());
+    }
+
+    @Test
+    void writesThatChangeNothingKeepTheVersionTest() {
+        Long id = createUser("version@test.com");
+        userAdministrationService.deactivateUser(id);
+        String version = dataVersionService.getVersion();
+
+        userAdministrationService.deactivateUser(id);
+        userAdministrationService.deactivateUsers(List.of(id));
+        userAdministrationService.deleteUsers(List.of(id + 1000));
+
+        assertEquals(version, dataVersionService.getVersion());
+    }
+
+    @Test
+    void rolledBackChangesKeepTheVersionTest() {
+        String version = dataVersionService.getVersion();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dataVersionService.onChanged();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(version, dataVersionService.getVersion());
+    }
+
+    @Test
+    void createdLastDayVersionFollowsWritesAndTheWindowTest() {
+        String empty = userAdministrationService.getCreatedUsersLastDayVersion().orElseThrow();
+        assertTrue(empty.endsWith("-none"));
+
+        createUser("recent@test.com");
+        String afterCreate = userAdministrationService.getCreatedUsersLastDayVersion().orElseThrow();
+
+        assertNotEquals(empty, afterCreate);
+        assertTrue(afterCreate.startsWith(dataVersionService.getVersion() + "-"));
+
+        recentUsersService.invalidate();
+        assertTrue(userAdministrationService.getCreatedUsersLastDayVersion().isEmpty());
+    }
+
+    @Test
+    void disabledVersionGivesNoETagTest() {
+        createUser("recent@test.com");
+        dataVersionProperties.setEnabled(false);
+        try {
+            assertTrue(userAdministrationService.getUsersVersion().isEmpty());
+            assertTrue(userAdministrationService.getCreatedUsersLastDayVersion().isEmpty());
+        } finally {
+            dataVersionProperties.setEnabled(true);
+        }
+    }
+}
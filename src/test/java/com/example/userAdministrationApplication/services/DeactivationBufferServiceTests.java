@@ -0,0 +1,127 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.DeactivationProperties;
+import com.example.userAdministrationApplication.exceptions.DbConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class DeactivationBufferServiceTests {
+    private final UserAdministrationService userAdministrationService = mock(UserAdministrationService.class);
+    private DeactivationBufferServiceImpl buffer;
+
+    private DeactivationBufferServiceImpl buffer(boolean writeBehind, int batchSize, Duration flushInterval, int maximumPending) {
+        DeactivationProperties properties = new DeactivationProperties();
+        properties.setWriteBehind(writeBehind);
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(flushInterval);
+        properties.setMaximumPending(maximumPending);
+        buffer = new DeactivationBufferServiceImpl(userAdministrationService, properties, new SimpleMeterRegistry());
+        buffer.start();
+        return buffer;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> flushedIds() {
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(userAdministrationService, atLeastOnce()).deactivateUsers(ids.capture());
+        return ids.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void disabledWritesEachDeactivationDirectlyTest() {
+        buffer(false, 500, Duration.ofHours(1), 1000);
+
+        assertTrue(buffer.deactivate(1L, true));
+
+        verify(userAdministrationService).deactivateUser(1L);
+        verify(userAdministrationService, never()).deactivateUsers(anyList());
+    }
+
+    @Test
+    void duplicatesAreCoalescedIntoOneBatchTest() {
+        buffer(true, 500, Duration.ofHours(1), 1000);
+
+        assertFalse(buffer.deactivate(1L, true));
+        assertFalse(buffer.deactivate(2L, true));
+        assertFalse(buffer.deactivate(1L, true));
+        assertEquals(2, buffer.getPending());
+        buffer.flush();
+
+        verify(userAdministrationService, times(1)).deactivateUsers(anyList());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(flushedIds()));
+        assertEquals(0, buffer.getPending());
+    }
+
+    @Test
+    void synchronousCallerWaitsForTheTimedFlushTest() {
+        buffer(true, 500, Duration.ofMillis(20), 1000);
+
+        assertTrue(buffer.deactivate(1L, false));
+
+        verify(userAdministrationService).deactivateUsers(List.of(1L));
+        verify(userAdministrationService, never()).deactivateUser(anyLong());
+    }
+
+    @Test
+    void reachingTheBatchSizeTriggersAFlushTest() {
+        buffer(true, 3, Duration.ofHours(1), 1000);
+
+        buffer.deactivate(1L, true);
+        buffer.deactivate(2L, true);
+        buffer.deactivate(3L, true);
+
+        verify(userAdministrationService, timeout(1000)).deactivateUsers(anyList());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(flushedIds()));
+    }
+
+    @Test
+    void failedBatchFailsItsSynchronousCallersTest() {
+        buffer(true, 500, Duration.ofMillis(20), 1000);
+        when(userAdministrationService.deactivateUsers(anyList())).thenThrow(new DbConnectionException("DB unreachable"));
+
+        DbConnectionException exception = assertThrows(DbConnectionException.class, () -> buffer.deactivate(1L, false));
+
+        assertEquals("DB unreachable", exception.getMessage());
+    }
+
+    @Test
+    void fullBufferFallsBackToDirectWritesTest() {
+        buffer(true, 500, Duration.ofHours(1), 1);
+
+        assertFalse(buffer.deactivate(1L, true));
+        assertTrue(buffer.deactivate(2L, true));
+
+        verify(userAdministrationService).deactivateUser(2L);
+        assertEquals(1, buffer.getPending());
+    }
+
+    @Test
+    void shutdownWritesPendingDeactivationsTest() throws InterruptedException {
+        buffer(true, 500, Duration.ofHours(1), 1000);
+        buffer.deactivate(1L, true);
+        buffer.deactivate(2L, true);
+
+        buffer.shutdown();
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(flushedIds()));
+        assertEquals(0, buffer.getPending());
+        // Once closed, deactivations are written directly
+        assertTrue(buffer.deactivate(3L, true));
+        verify(userAdministrationService).deactivateUser(3L);
+    }
+}
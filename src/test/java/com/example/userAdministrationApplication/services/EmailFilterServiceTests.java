@@ -0,0 +1,110 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:emailfilter;DB_CLOSE_DELAY=-1")
+public class EmailFilterServiceTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private EmailFilterService emailFilterService;
+
+    @MockitoSpyBean
+    private UserAdministrationRepository repository;
+
+    @MockitoSpyBean
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        emailFilterService.rebuild();
+        clearInvocations(repository, passwordHashingService);
+    }
+
+    private CreateNewUserRequest createUserRequest(String email) {
+        return new CreateNewUserRequest("Li", "Alush", email, "SecurePass123!");
+    }
+
+    @Test
+    void newEmailSkipsExistenceLookupTest() {
+        userAdministrationService.createNewUser(createUserRequest("new.user@test.com"));
+
+        verify(repository, never()).existsByEmailNormalized(anyString());
+        assertTrue(emailFilterService.mightExist("new.user@test.com"));
+    }
+
+    @Test
+    void duplicateEmailIsRejectedBeforeHashingTest() {
+        userAdministrationService.createNewUser(createUserRequest("taken@test.com"));
+        clearInvocations(repository, passwordHashingService);
+
+        assertThrows(UserAlreadyExistException.class,
+                () -> userAdministrationService.createNewUser(createUserRequest("taken@test.com")));
+
+        verify(repository).existsByEmailNormalized("taken@test.com");
+        verify(passwordHashingService, never()).encode(anyString());
+        verify(repository, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void filterIsCaseInsensitiveTest() {
+        userAdministrationService.createNewUser(createUserRequest("Mixed.Case@test.com"));
+
+        assertTrue(emailFilterService.mightExist("mixed.case@TEST.com"));
+    }
+
+    @Test
+    void rebuildLoadsEmailsFromDataBaseTest() {
+        repository.save(new UserEntity(createUserRequest("written.directly@test.com"), "hash"));
+
+        emailFilterService.rebuild();
+
+        assertTrue(emailFilterService.mightExist("written.directly@test.com"));
+    }
+
+    @Test
+    void importSkipsLookupWhenAllEmailsAreNewTest() {
+        String ndjson = """
+                {"firstName":"Li","lastName":"Alush","email":"import1@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"import2@test.com","password":"SecurePass123!"}
+                """;
+
+        userImportService.importUsers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                UserFileFormat.NDJSON);
+
+        verify(repository, never()).findExistingEmails(anyCollection());
+        assertTrue(emailFilterService.mightExist("import1@test.com"));
+        assertTrue(emailFilterService.mightExist("import2@test.com"));
+    }
+
+    @Test
+    void deletedEmailCanSignUpAgainTest() {
+        Long userId = userAdministrationService.createNewUser(createUserRequest("comeback@test.com")).getUser().getId();
+        userAdministrationService.deleteUsers(List.of(userId));
+
+        assertDoesNotThrow(() -> userAdministrationService.createNewUser(createUserRequest("comeback@test.com")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.HashingProperties;
+import com.example.userAdministrationApplication.exceptions.HashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTests {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingServiceImpl service;
+
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed-" + rawPassword);
+        }
+    };
+
+    private PasswordHashingServiceImpl service(int threads, int queueCapacity, Duration timeout) {
+        HashingProperties properties = new HashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeout(timeout);
+        service = new PasswordHashingServiceImpl(blockingEncoder, properties, meterRegistry);
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void encodeReturnsHashTest() {
+        release.countDown();
+
+        assertEquals("hashed-Secret1!", service(1, 1, Duration.ofSeconds(1)).encode("Secret1!"));
+    }
+
+    @Test
+    void encodeRecordsHashAndQueueWaitTimeTest() {
+        release.countDown();
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(1));
+
+        hashing.encode("Secret1!");
+        hashing.encodeAll(List.of("a", "b"));
+
+        assertEquals(3, meterRegistry.get("password.hash").timer().count());
+        assertEquals(1, meterRegistry.get("password.hash.wait").timer().count());
+    }
+
+    @Test
+    void matchesVerifiesOnThePoolTest() {
+        release.countDown();
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(1));
+
+        assertTrue(hashing.matches("Secret1!", "hashed-Secret1!"));
+        assertFalse(hashing.matches("Secret1!", "hashed-Other1!"));
+        assertEquals(2, meterRegistry.get("password.verify").timer().count());
+    }
+
+    @Test
+    void matchesWithoutHashStillVerifiesTest() {
+        release.countDown();
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(1));
+
+        assertFalse(hashing.matches("Secret1!", null));
+        assertEquals(1, meterRegistry.get("password.verify").timer().count());
+    }
+
+    @Test
+    void matchesRejectsWhenQueueIsFullTest() throws Exception {
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.encode("first"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.encode("second"));
+        Thread.sleep(100);
+
+        assertThrows(HashingOverloadedException.class, () -> hashing.matches("third", "hashed-third"));
+
+        release.countDown();
+        assertEquals("hashed-first", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hashed-second", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeRejectsWhenQueueIsFullTest() throws Exception {
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.encode("first"));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.encode("second"));
+        Thread.sleep(100);
+
+        long rejectStart = System.nanoTime();
+        assertThrows(HashingOverloadedException.class, () -> hashing.encode("third"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rejectStart) < 100);
+
+        release.countDown();
+        assertEquals("hashed-first", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hashed-second", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeTimesOutTest() {
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofMillis(50));
+
+        assertThrows(HashingOverloadedException.class, () -> hashing.encode("slow"));
+    }
+
+    @Test
+    void encodeAllRunsOnCallerWhenPoolIsSaturatedTest() {
+        release.countDown();
+        PasswordHashingServiceImpl hashing = service(1, 1, Duration.ofSeconds(1));
+
+        List<String> hashes = hashing.encodeAll(List.of("a", "b", "c", "d"));
+
+        assertEquals(List.of("hashed-a", "hashed-b", "hashed-c", "hashed-d"), hashes);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.PasswordPolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordPolicyServiceTests {
+    private PasswordPolicyServiceImpl service(PasswordPolicyProperties properties) {
+        return new PasswordPolicyServiceImpl(properties);
+    }
+
+    private PasswordPolicyProperties.DomainRule minLength(int minLength) {
+        PasswordPolicyProperties.DomainRule rule = new PasswordPolicyProperties.DomainRule();
+        rule.setMinLength(minLength);
+        return rule;
+    }
+
+    @Test
+    void defaultRuleRequiresEveryCharacterClassTest() {
+        PasswordPolicyServiceImpl policy = service(new PasswordPolicyProperties());
+
+        assertTrue(policy.validate("li@test.com", "aA1@").isEmpty());
+        assertTrue(policy.validate("li@test.com", "aA1").isPresent());
+        assertTrue(policy.validate("li@test.com", "aa1@").isPresent());
+        assertTrue(policy.validate("li@test.com", "AA1@").isPresent());
+        assertTrue(policy.validate("li@test.com", "aAa@").isPresent());
+        assertTrue(policy.validate("li@test.com", "aA1a").isPresent());
+        assertTrue(policy.validate("li@test.com", "aA1@ b").isPresent());
+    }
+
+    @Test
+    void domainRuleOverridesOnlyItsSettingsTest() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.getDomains().put("example.com", minLength(12));
+        PasswordPolicyServiceImpl policy = service(properties);
+
+        assertTrue(policy.validate("li@example.com", "Short1!").isPresent());
+        assertTrue(policy.validate("li@example.com", "verylongpassword").isPresent());
+        assertTrue(policy.validate("li@example.com", "VeryLongPassword123!").isEmpty());
+        assertTrue(policy.validate("li@mail.example.com", "Short1!").isPresent());
+        assertTrue(policy.validate("li@test.com", "Short1!").isEmpty());
+    }
+
+    @Test
+    void disabledCharacterClassesAreNotRequiredTest() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.setRequireSpecial(false);
+        properties.setRequireUppercase(false);
+
+        assertTrue(service(properties).validate("li@test.com", "abc1").isEmpty());
+    }
+
+    @Test
+    void messageDescribesTheApplyingRuleTest() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.getDomains().put("example.com", minLength(12));
+        PasswordPolicyServiceImpl policy = service(properties);
+
+        assertEquals("Password must be at least 4 characters long, contain an uppercase letter, a lowercase letter, "
+                        + "a digit and one of @#$%^&+=! and have no whitespace",
+                policy.validate("li@test.com", "weak").orElseThrow());
+        assertTrue(policy.validate("li@example.com", "weak").orElseThrow()
+                .startsWith("Password for users with email domain \"example.com\" must be at least 12 characters long"));
+    }
+}
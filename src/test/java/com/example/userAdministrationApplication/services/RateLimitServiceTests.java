@@ -0,0 +1,58 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.example.userAdministrationApplication.services.RateLimitService.Type.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitServiceTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitServiceImpl service(boolean enabled) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setWriteCapacity(2);
+        properties.setWriteRefillPerSecond(0.1);
+        properties.setReadCapacity(3);
+        properties.setReadRefillPerSecond(0.1);
+        return new RateLimitServiceImpl(properties, meterRegistry);
+    }
+
+    @Test
+    void rejectsWhenBucketIsEmptyTest() {
+        RateLimitServiceImpl rateLimit = service(true);
+
+        assertTrue(rateLimit.tryAcquire("ip:1", WRITE).isEmpty());
+        assertTrue(rateLimit.tryAcquire("ip:1", WRITE).isEmpty());
+        Optional<Duration> retryAfter = rateLimit.tryAcquire("ip:1", WRITE);
+
+        assertTrue(retryAfter.isPresent());
+        assertTrue(retryAfter.get().compareTo(Duration.ofSeconds(9)) > 0);
+        assertEquals(1, meterRegistry.get("user.rate.limit.rejections").tag("type", "write").counter().count());
+    }
+
+    @Test
+    void readsAndOtherClientsHaveTheirOwnBucketsTest() {
+        RateLimitServiceImpl rateLimit = service(true);
+        rateLimit.tryAcquire("ip:1", WRITE);
+        rateLimit.tryAcquire("ip:1", WRITE);
+
+        assertTrue(rateLimit.tryAcquire("ip:1", WRITE).isPresent());
+        assertTrue(rateLimit.tryAcquire("ip:1", READ).isEmpty());
+        assertTrue(rateLimit.tryAcquire("ip:2", WRITE).isEmpty());
+    }
+
+    @Test
+    void disabledNeverRejectsTest() {
+        RateLimitServiceImpl rateLimit = service(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimit.tryAcquire("ip:1", WRITE).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs without a surrounding test transaction, because the window applies changes only after commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:recentusers;DB_CLOSE_DELAY=-1")
+public class RecentUsersServiceTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private RecentUsersService recentUsersService;
+
+    @Autowired
+    private UserCountersService userCountersService;
+
+    @MockitoSpyBean
+    private UserAdministrationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userCountersService.reconcile();
+        recentUsersService.rebuild();
+        clearInvocations(repository);
+    }
+
+    private Long createUser(String email) {
+        return userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", email, "SecurePass123!"))
+                .getUser()
+                .getId();
+    }
+
+    private void saveUser(String email, LocalDateTime createdAt) {
+        UserEntity user = new UserEntity();
+        user.setFirstName("Old");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setActive(true);
+        user.setCreatedAt(createdAt);
+        repository.save(user);
+    }
+
+    @Test
+    void createdUsersAreServedWithoutQueryingTest() {
+        createUser("recent1@test.com");
+        createUser("recent2@test.com");
+        createUser("recent3@test.com");
+
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(1, 2, true, UserField.ALL);
+
+        assertTrue(recentUsersService.isWarm());
+        assertEquals(3, response.getTotalCount());
+        assertEquals(2, response.getTotalPages());
+        assertThat(response.getUser()).extracting("email").containsExactly("recent3@test.com");
+        verify(repository, never()).findUsers(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void deactivateAndDeleteArePatchedIntoWindowTest() {
+        Long deactivatedId = createUser("deactivated@test.com");
+        Long deletedId = createUser("deleted@test.com");
+        Long bulkDeletedId = createUser("bulk.deleted@test.com");
+        createUser("kept@test.com");
+
+        userAdministrationService.deactivateUser(deactivatedId);
+        userAdministrationService.deleteUser(deletedId);
+        userAdministrationService.deleteUsers(List.of(bulkDeletedId));
+
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
+
+        assertEquals(2, response.getTotalCount());
+        assertThat(response.getUser()).extracting("email").containsExactly("deactivated@test.com", "kept@test.com");
+        assertFalse(response.getUser().getFirst().getActive());
+    }
+
+    @Test
+    void rebuildLoadsOnlyRecentUsersTest() {
+        saveUser("old@test.com", LocalDateTime.now().minusDays(2));
+        saveUser("recent@test.com", LocalDateTime.now().minusHours(2));
+
+        recentUsersService.rebuild();
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
+
+        assertEquals(1, response.getTotalCount());
+        assertEquals("recent@test.com", response.getUser().getFirst().getEmail());
+    }
+
+    @Test
+    void usersInsideMarginAreNotServedTest() {
+        saveUser("margin@test.com", LocalDateTime.now().minusHours(24).minusMinutes(30));
+        recentUsersService.rebuild();
+
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
+
+        assertEquals(0, response.getTotalCount());
+        assertTrue(response.getUser().isEmpty());
+    }
+
+    @Test
+    void cursorWalksWindowTest() {
+        createUser("cursor1@test.com");
+        createUser("cursor2@test.com");
+        createUser("cursor3@test.com");
+
+        GetUsersCursorResponse firstPage = userAdministrationService.getCreatedUsersLastDayAfter(null, 2, UserField.ALL);
+        GetUsersCursorResponse secondPage = userAdministrationService.getCreatedUsersLastDayAfter(
+                CursorUtil.decode(firstPage.getNextCursor()), 2, UserField.ALL);
+
+        assertThat(firstPage.getUser()).extracting("email").containsExactly("cursor1@test.com", "cursor2@test.com");
+        assertThat(secondPage.getUser()).extracting("email").containsExactly("cursor3@test.com");
+        assertNull(secondPage.getNextCursor());
+        verify(repository, never()).findUsersAfter(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void importReloadsWindowTest() throws InterruptedException {
+        createUser("created@test.com");
+        String ndjson = """
+                {"firstName":"Li","lastName":"Alush","email":"imported1@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"imported2@test.com","password":"SecurePass123!"}
+                """;
+
+        userImportService.importUsers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), UserFileFormat.NDJSON);
+
+        // Until the reload finishes the counters answer, so the total is exact either way
+        assertEquals(3, userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL).getTotalCount());
+        for (int i = 0; i < 100 && !recentUsersService.isWarm(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(recentUsersService.isWarm());
+        assertEquals(3, userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL).getTotalCount());
+    }
+
+    @Test
+    void windowDoesNotAnswerBeyondItsCoverageTest() {
+        createUser("covered@test.com");
+
+        assertTrue(recentUsersService.getCreatedAfter(LocalDateTime.now().minusHours(24), 0, 10).isPresent());
+        assertTrue(recentUsersService.getCreatedAfter(LocalDateTime.now().minusDays(3), 0, 10).isEmpty());
+    }
+
+    @Test
+    void firstCreatedAfterIsTheNextUserToLeaveTheWindowTest() {
+        LocalDateTime dayAgo = LocalDateTime.now().minusHours(24);
+        LocalDateTime twoHoursAgo = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.MICROS);
+        assertEquals(LocalDateTime.MAX, recentUsersService.getFirstCreatedAfter(dayAgo).orElseThrow());
+
+        saveUser("older@test.com", LocalDateTime.now().minusHours(30));
+        saveUser("oldest.in.day@test.com", twoHoursAgo);
+        recentUsersService.rebuild();
+        createUser("newest@test.com");
+
+        assertEquals(twoHoursAgo, recentUsersService.getFirstCreatedAfter(dayAgo).orElseThrow());
+        assertTrue(recentUsersService.getFirstCreatedAfter(LocalDateTime.now().minusDays(3)).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.endpoints.CircuitBreakerEndpoint;
+import com.example.userAdministrationApplication.exceptions.CircuitBreakerOpenException;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:circuitbreaker;DB_CLOSE_DELAY=-1")
+public class RepositoryCircuitBreakerTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private CircuitBreakerService circuitBreakerService;
+
+    @Autowired
+    private CircuitBreakerEndpoint circuitBreakerEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerService.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        circuitBreakerService.reset();
+    }
+
+    @Test
+    void repositoryCallsAreRecordedTest() {
+        userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
+
+        assertTrue(circuitBreakerService.getState().getBufferedCalls() >= 1);
+        assertEquals(0, circuitBreakerService.getState().getFailedCalls());
+    }
+
+    @Test
+    void openCircuitBreakerFailsFastTest() {
+        for (int i = 0; i < 10; i++) {
+            circuitBreakerService.onFailure();
+        }
+
+        long start = System.nanoTime();
+        assertThrows(CircuitBreakerOpenException.class, () -> userAdministrationService.getUser(6L));
+        assertThrows(CircuitBreakerOpenException.class, () -> userAdministrationService.getAllUsers(0, 10, true, UserField.ALL));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 500, "took " + elapsedMillis + " ms");
+        assertEquals("OPEN", circuitBreakerEndpoint.circuitBreaker().getState());
+        assertTrue(circuitBreakerEndpoint.circuitBreaker().getRemainingOpenMillis() > 0);
+    }
+}
@@ -2,9 +2,12 @@ package com.example.userAdministrationApplication.services;
 
 import com.example.userAdministrationApplication.exceptions.DbConnectionException;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
 import com.example.userAdministrationApplication.modules.entities.UserEntity;
 import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,11 +15,18 @@ import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "user-administration.recent-users.enabled=false",
+        "user-administration.counters.enabled=false"
+})
 public class UserAdministrationServiceRetryTests {
     @Autowired
     private UserAdministrationService service;
@@ -27,6 +37,17 @@ public class UserAdministrationServiceRetryTests {
     @Autowired
     private PasswordEncoder encoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CircuitBreakerService circuitBreakerService;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerService.reset();
+    }
+
     private CreateNewUserRequest request(String email) {
         return new CreateNewUserRequest("Li", "Alush", email, "VeryStrong123!");
     }
@@ -36,7 +57,11 @@ public class UserAdministrationServiceRetryTests {
         when(repository.save(any(UserEntity.class)))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
-                .thenAnswer(inv -> inv.getArgument(0));
+                .thenAnswer(inv -> {
+                    UserEntity saved = inv.getArgument(0);
+                    saved.setId(1L);
+                    return saved;
+                });
 
         UserResponse response = service.createNewUser(request("li.alush@test.com"));
 
@@ -61,21 +86,69 @@ public class UserAdministrationServiceRetryTests {
 
     @Test
     void getAllUsersRetriesThenRecoverTest() {
-        when(repository.findAll(any(org.springframework.data.domain.Pageable.class)))
+        when(repository.findUsers(any(), isNull(), any(org.springframework.data.domain.Pageable.class)))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
 
         DbConnectionException ex = assertThrows(DbConnectionException.class,
-                () -> service.getAllUsers(0, 10));
+                () -> service.getAllUsers(0, 10, true, UserField.ALL));
 
         assertTrue(ex.getMessage().contains("Failed to get users from data base"));
-        verify(repository, times(3)).findAll(any(org.springframework.data.domain.Pageable.class));
+        verify(repository, times(3)).findUsers(any(), isNull(), any(org.springframework.data.domain.Pageable.class));
+    }
+
+    @Test
+    void getUserRetriesThenRecoverTest() {
+        when(repository.findById(3L))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
+
+        DbConnectionException ex = assertThrows(DbConnectionException.class,
+                () -> service.getUser(3L));
+
+        assertTrue(ex.getMessage().contains("Failed to get user with id 3 from data base"));
+        verify(repository, times(3)).findById(3L);
+    }
+
+    @Test
+    void retryAttemptsAndRecoveriesAreCountedTest() {
+        when(repository.deactivateById(4L))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenReturn(1);
+        when(repository.deactivateById(5L))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
+        double failures = count("user.service.retry.attempts", "outcome", "failure");
+        double successes = count("user.service.retry.attempts", "outcome", "success");
+        double recoveries = count("user.service.recoveries", "method", "deactivateUser");
+        long calls = meterRegistry.get("user.service").tag("method", "deactivateUser").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+
+        service.deactivateUser(4L);
+        assertThrows(DbConnectionException.class, () -> service.deactivateUser(5L));
+
+        assertEquals(failures + 4, count("user.service.retry.attempts", "outcome", "failure"));
+        assertEquals(successes + 1, count("user.service.retry.attempts", "outcome", "success"));
+        assertEquals(recoveries + 1, count("user.service.recoveries", "method", "deactivateUser"));
+        // One timing per attempt, the retry interceptor runs outside the timer
+        assertEquals(calls + 5, meterRegistry.get("user.service").tag("method", "deactivateUser").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum());
+    }
+
+    private double count(String name, String tagKey, String tagValue) {
+        return meterRegistry.find(name).tags("method", "deactivateUser", tagKey, tagValue).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
     }
 
     @Test
     void deactivateUserRetriesThenRecoverTest() {
-        when(repository.findById(any(Long.class)))
+        when(repository.deactivateById(any(Long.class)))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
@@ -84,36 +157,89 @@ public class UserAdministrationServiceRetryTests {
                 () -> service.deactivateUser(2L));
 
         assertTrue(ex.getMessage().contains("Failed to delete user with id 2 from data base"));
-        verify(repository, times(3)).findById(2L);
+        verify(repository, times(3)).deactivateById(2L);
+    }
+
+    @Test
+    void deactivateUsersRetriesThenRecoverTest() {
+        when(repository.deactivateByIdIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
+
+        DbConnectionException ex = assertThrows(DbConnectionException.class,
+                () -> service.deactivateUsers(List.of(1L, 2L, 3L)));
+
+        assertTrue(ex.getMessage().contains("Failed to deactivate 3 users in data base"));
+        verify(repository, times(3)).deactivateByIdIn(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void deleteUsersRetriesThenRecoverTest() {
+        when(repository.deleteByIdIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
+
+        DbConnectionException ex = assertThrows(DbConnectionException.class,
+                () -> service.deleteUsers(List.of(4L, 5L)));
+
+        assertTrue(ex.getMessage().contains("Failed to delete 2 users from data base"));
+        verify(repository, times(3)).deleteByIdIn(List.of(4L, 5L));
+    }
+
+    @Test
+    void exhaustedRetryBudgetSkipsRetriesTest() {
+        when(repository.findById(any(Long.class)))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable"));
+        for (int i = 0; i < 10; i++) {
+            circuitBreakerService.shouldRetry(new DataAccessResourceFailureException("DB unreachable #" + i));
+        }
+
+        assertThrows(DbConnectionException.class, () -> service.getUser(7L));
+
+        verify(repository, times(1)).findById(7L);
     }
 
     @Test
     void deleteUserRetriesThenRecoverTest() {
-        doThrow(new DataAccessResourceFailureException("DB unreachable #1"))
-                .doThrow(new DataAccessResourceFailureException("DB unreachable #2"))
-                .doThrow(new DataAccessResourceFailureException("DB unreachable #3"))
-                .doNothing()
-                .when(repository)
-                .deleteById(2L);
+        when(repository.deleteByIdIn(List.of(2L)))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
 
         DbConnectionException ex = assertThrows(DbConnectionException.class,
                 () -> service.deleteUser(2L));
 
         assertTrue(ex.getMessage().contains("Failed to delete user with id 2 from data base"));
-        verify(repository, times(3)).deleteById(2L);
+        verify(repository, times(3)).deleteByIdIn(List.of(2L));
     }
 
     @Test
     void getCreatedUsersLastDayRetriesThenRecoverTest() {
-        when(repository.findByCreatedAtAfter(any(), any(org.springframework.data.domain.Pageable.class)))
+        when(repository.findUsers(any(), any(LocalDateTime.class), any(org.springframework.data.domain.Pageable.class)))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
+                .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
+
+        DbConnectionException ex = assertThrows(DbConnectionException.class,
+                () -> service.getCreatedUsersLastDay(0, 10, true, UserField.ALL));
+
+        assertTrue(ex.getMessage().contains("Failed to get users from data base"));
+        verify(repository, times(3)).findUsers(any(), any(LocalDateTime.class), any(org.springframework.data.domain.Pageable.class));
+    }
+
+    @Test
+    void getAllUsersAfterCursorRetriesThenRecoverTest() {
+        when(repository.findUsersAfter(any(), isNull(), anyLong(), anyInt()))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #1"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #2"))
                 .thenThrow(new DataAccessResourceFailureException("DB unreachable #3"));
 
         DbConnectionException ex = assertThrows(DbConnectionException.class,
-                () -> service.getCreatedUsersLastDay(0, 10));
+                () -> service.getAllUsersAfter(null, 10, UserField.ALL));
 
         assertTrue(ex.getMessage().contains("Failed to get users from data base"));
-        verify(repository, times(3)).findByCreatedAtAfter(any(), any(org.springframework.data.domain.Pageable.class));
+        verify(repository, times(3)).findUsersAfter(any(), isNull(), anyLong(), anyInt());
     }
 }
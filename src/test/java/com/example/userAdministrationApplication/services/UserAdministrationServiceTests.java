@@ -1,24 +1,43 @@
 package com.example.userAdministrationApplication.services;
 
+import com.example.userAdministrationApplication.exceptions.InvalidCredentialsException;
+import com.example.userAdministrationApplication.exceptions.InvalidUserQueryException;
+import com.example.userAdministrationApplication.exceptions.UserAlreadyExistException;
+import com.example.userAdministrationApplication.modules.dtos.requests.AuthenticateRequest;
 import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFilter;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserSort;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersCursorResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
 import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
 import com.example.userAdministrationApplication.modules.entities.UserEntity;
 import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.example.userAdministrationApplication.utils.CalibratedPasswordEncoder;
+import com.example.userAdministrationApplication.utils.CursorUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.transaction.annotation.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "user-administration.recent-users.enabled=false",
+        "user-administration.counters.enabled=false"
+})
 @Transactional
 public class UserAdministrationServiceTests {
     @Autowired
@@ -30,6 +49,9 @@ public class UserAdministrationServiceTests {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private Validator validator;
+
     @BeforeEach
     void setUp() {
         repository.deleteAll();
@@ -66,11 +88,19 @@ public class UserAdministrationServiceTests {
 
         userAdministrationService.createNewUser(request1);
 
-        assertThrows(Exception.class, () -> {
+        assertThrows(UserAlreadyExistException.class, () -> {
             userAdministrationService.createNewUser(request2);
         });
     }
 
+    @Test
+    void createNewUserDuplicateEmailIgnoresCaseTest() {
+        userAdministrationService.createNewUser(createUserRequest("li.alush@example.com"));
+
+        assertThrows(UserAlreadyExistException.class,
+                () -> userAdministrationService.createNewUser(createUserRequest("Li.Alush@Example.com")));
+    }
+
     @Test
     void createNewUserInvalidPasswordForSpecificDomainTest() {
         CreateNewUserRequest request = new CreateNewUserRequest(
@@ -80,9 +110,10 @@ public class UserAdministrationServiceTests {
                 "Short1!"
         );
 
-        assertThrows(Exception.class, () -> {
-            userAdministrationService.createNewUser(request);
-        });
+        Set<ConstraintViolation<CreateNewUserRequest>> violations = validator.validate(request);
+
+        assertEquals(1, violations.size());
+        assertEquals("password", violations.iterator().next().getPropertyPath().toString());
     }
 
     @Test
@@ -115,7 +146,7 @@ public class UserAdministrationServiceTests {
 
     @Test
     void getAllUsersNoUsersTest() {
-        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10);
+        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
 
         assertNotNull(response);
         assertNotNull(response.getUser());
@@ -128,7 +159,7 @@ public class UserAdministrationServiceTests {
         userAdministrationService.createNewUser(createUserRequest("user2@test.com"));
         userAdministrationService.createNewUser(createUserRequest("user3@test.com"));
 
-        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10);
+        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
 
         assertNotNull(response);
         assertEquals(3, response.getUser().size());
@@ -144,11 +175,106 @@ public class UserAdministrationServiceTests {
 
         userAdministrationService.deactivateUser(user2.getUser().getId());
 
-        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10);
+        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
 
         assertEquals(2, response.getUser().size());
     }
 
+    @Test
+    void getAllUsersSelectsOnlyRequestedFieldsTest() {
+        userAdministrationService.createNewUser(createUserRequest("sparse@test.com"));
+
+        GetUsersResponse response = userAdministrationService.getAllUsers(0, 10, true, UserField.fromNames("id,email"));
+
+        assertEquals(1, response.getUser().size());
+        assertNotNull(response.getUser().getFirst().getId());
+        assertEquals("sparse@test.com", response.getUser().getFirst().getEmail());
+        assertNull(response.getUser().getFirst().getFirstName());
+        assertNull(response.getUser().getFirst().getActive());
+        assertNull(response.getUser().getFirst().getCreatedAt());
+    }
+
+    private void saveUser(String email, boolean active, LocalDateTime createdAt) {
+        UserEntity user = new UserEntity();
+        user.setFirstName("Li");
+        user.setLastName("Alush");
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setActive(active);
+        user.setCreatedAt(createdAt);
+        repository.save(user);
+    }
+
+    @Test
+    void getUsersFiltersByActiveCreationRangeAndEmailDomainTest() {
+        LocalDateTime now = LocalDateTime.now();
+        saveUser("old@corp.com", true, now.minusDays(3));
+        saveUser("inactive@Corp.com", false, now.minusDays(2));
+        saveUser("new@corp.com", true, now.minusDays(1));
+        saveUser("other@test.com", true, now.minusHours(1));
+
+        GetUsersResponse byDomain = userAdministrationService.getUsers(
+                UserFilter.of(null, null, null, "@CORP.com"), null, 0, 10, true, UserField.ALL);
+        GetUsersResponse activeInRange = userAdministrationService.getUsers(
+                UserFilter.of(true, now.minusDays(4), now.minusHours(2), null), null, 0, 10, true, UserField.ALL);
+        GetUsersResponse inactive = userAdministrationService.getUsers(
+                UserFilter.of(false, null, null, null), null, 0, 10, true, UserField.ALL);
+
+        assertThat(byDomain.getUser()).extracting("email").containsExactly("old@corp.com", "inactive@Corp.com", "new@corp.com");
+        assertEquals(3, byDomain.getTotalCount());
+        assertThat(activeInRange.getUser()).extracting("email").containsExactly("old@corp.com", "new@corp.com");
+        assertEquals(2, activeInRange.getTotalCount());
+        assertThat(inactive.getUser()).extracting("email").containsExactly("inactive@Corp.com");
+    }
+
+    @Test
+    void getUsersSortsAndPagesTest() {
+        LocalDateTime now = LocalDateTime.now();
+        saveUser("b@corp.com", true, now.minusDays(3));
+        saveUser("c@corp.com", true, now.minusDays(2));
+        saveUser("a@corp.com", true, now.minusDays(1));
+
+        GetUsersResponse newestFirst = userAdministrationService.getUsers(UserFilter.of(null, null, null, "corp.com"),
+                UserSort.fromValue("createdAt,desc"), 0, 2, false, UserField.ALL);
+        GetUsersResponse byEmail = userAdministrationService.getUsers(UserFilter.NONE,
+                UserSort.fromValue("email"), 1, 2, false, UserField.ALL);
+
+        assertThat(newestFirst.getUser()).extracting("email").containsExactly("a@corp.com", "c@corp.com");
+        assertTrue(newestFirst.isHasNext());
+        assertNull(newestFirst.getTotalCount());
+        assertThat(byEmail.getUser()).extracting("email").containsExactly("c@corp.com");
+        assertFalse(byEmail.isHasNext());
+    }
+
+    @Test
+    void getUsersRejectsSortsNoIndexServesTest() {
+        saveUser("a@corp.com", true, LocalDateTime.now());
+
+        InvalidUserQueryException exception = assertThrows(InvalidUserQueryException.class,
+                () -> userAdministrationService.getUsers(UserFilter.of(true, null, null, null),
+                        UserSort.fromValue("email,desc"), 0, 10, true, UserField.ALL));
+
+        assertEquals("Sort \"email\" cannot be combined with the active filter, sort by createdAt instead", exception.getMessage());
+        assertThrows(InvalidUserQueryException.class, () -> userAdministrationService.getUsers(
+                UserFilter.of(null, null, null, "corp.com"), UserSort.fromValue("id"), 0, 10, true, UserField.ALL));
+    }
+
+    @Test
+    void getAllUsersAfterCursorWithSparseFieldsTest() {
+        userAdministrationService.createNewUser(createUserRequest("cursor1@test.com"));
+        userAdministrationService.createNewUser(createUserRequest("cursor2@test.com"));
+
+        GetUsersCursorResponse firstPage = userAdministrationService.getAllUsersAfter(null, 1, Set.of(UserField.EMAIL));
+        GetUsersCursorResponse secondPage = userAdministrationService.getAllUsersAfter(
+                CursorUtil.decode(firstPage.getNextCursor()), 1, Set.of(UserField.EMAIL));
+
+        // The cursor is still built although neither the id nor the creation time was requested
+        assertEquals("cursor1@test.com", firstPage.getUser().getFirst().getEmail());
+        assertNull(firstPage.getUser().getFirst().getId());
+        assertNull(firstPage.getUser().getFirst().getCreatedAt());
+        assertEquals("cursor2@test.com", secondPage.getUser().getFirst().getEmail());
+    }
+
     @Test
     void deactivateUserSuccessTest() {
         UserResponse created = userAdministrationService.createNewUser(createUserRequest("user@test.com"));
@@ -181,6 +307,36 @@ public class UserAdministrationServiceTests {
         assertFalse(user.get().getActive());
     }
 
+    @Test
+    void deactivateUsersBulkTest() {
+        Long userId1 = userAdministrationService.createNewUser(createUserRequest("bulk1@test.com")).getUser().getId();
+        Long userId2 = userAdministrationService.createNewUser(createUserRequest("bulk2@test.com")).getUser().getId();
+        Long userId3 = userAdministrationService.createNewUser(createUserRequest("bulk3@test.com")).getUser().getId();
+
+        int deactivated = userAdministrationService.deactivateUsers(List.of(userId1, userId2, userId2, 999_999L));
+
+        assertEquals(2, deactivated);
+        assertFalse(repository.findById(userId1).orElseThrow().getActive());
+        assertFalse(repository.findById(userId2).orElseThrow().getActive());
+        assertTrue(repository.findById(userId3).orElseThrow().getActive());
+    }
+
+    @Test
+    void deactivateUsersMoreThanOneChunkTest() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(userAdministrationService.createNewUser(createUserRequest("first.chunk@test.com")).getUser().getId());
+        for (long id = 1_000_000L; id < 1_001_500L; id++) {
+            ids.add(id);
+        }
+        ids.add(userAdministrationService.createNewUser(createUserRequest("last.chunk@test.com")).getUser().getId());
+
+        int deactivated = userAdministrationService.deactivateUsers(ids);
+
+        assertEquals(2, deactivated);
+        assertFalse(repository.findById(ids.getFirst()).orElseThrow().getActive());
+        assertFalse(repository.findById(ids.getLast()).orElseThrow().getActive());
+    }
+
     @Test
     void deleteUserSuccessTest() {
         UserResponse created = userAdministrationService.createNewUser(createUserRequest("user@test.com"));
@@ -211,12 +367,26 @@ public class UserAdministrationServiceTests {
         assertFalse(deletedUser.isPresent());
     }
 
+    @Test
+    void deleteUsersBulkTest() {
+        Long userId1 = userAdministrationService.createNewUser(createUserRequest("purge1@test.com")).getUser().getId();
+        Long userId2 = userAdministrationService.createNewUser(createUserRequest("purge2@test.com")).getUser().getId();
+        Long userId3 = userAdministrationService.createNewUser(createUserRequest("keep@test.com")).getUser().getId();
+
+        int deleted = userAdministrationService.deleteUsers(List.of(userId1, userId2, userId1, 999_999L));
+
+        assertEquals(2, deleted);
+        assertFalse(repository.findById(userId1).isPresent());
+        assertFalse(repository.findById(userId2).isPresent());
+        assertTrue(repository.findById(userId3).isPresent());
+    }
+
     @Test
     void getCreatedUsersLastDayRecentUsersTest() {
         userAdministrationService.createNewUser(createUserRequest("recent1@test.com"));
         userAdministrationService.createNewUser(createUserRequest("recent2@test.com"));
 
-        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10);
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
 
         assertNotNull(response);
         assertEquals(2, response.getUser().size());
@@ -233,7 +403,7 @@ public class UserAdministrationServiceTests {
         oldUser.setCreatedAt(LocalDateTime.now().minusDays(2));
         repository.save(oldUser);
 
-        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10);
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
 
         assertNotNull(response);
         assertTrue(response.getUser().isEmpty());
@@ -252,7 +422,7 @@ public class UserAdministrationServiceTests {
         oldUser.setCreatedAt(LocalDateTime.now().minusDays(2));
         repository.save(oldUser);
 
-        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10);
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
 
         assertEquals(1, response.getUser().size());
         assertEquals("recent@test.com", response.getUser().get(0).getEmail());
@@ -260,25 +430,121 @@ public class UserAdministrationServiceTests {
 
     @Test
     void getCreatedUsersLastDayNoUsersTest() {
-        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10);
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, true, UserField.ALL);
 
         assertNotNull(response);
         assertTrue(response.getUser().isEmpty());
     }
 
+    @Test
+    void getAllUsersAfterCursorWalksAllPagesTest() {
+        userAdministrationService.createNewUser(createUserRequest("cursor1@test.com"));
+        userAdministrationService.createNewUser(createUserRequest("cursor2@test.com"));
+        userAdministrationService.createNewUser(createUserRequest("cursor3@test.com"));
+
+        GetUsersCursorResponse firstPage = userAdministrationService.getAllUsersAfter(null, 2, UserField.ALL);
+        assertEquals(2, firstPage.getUser().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        GetUsersCursorResponse secondPage = userAdministrationService.getAllUsersAfter(
+                CursorUtil.decode(firstPage.getNextCursor()), 2, UserField.ALL);
+        assertEquals(1, secondPage.getUser().size());
+        assertNull(secondPage.getNextCursor());
+
+        assertThat(List.of(firstPage.getUser().get(0), firstPage.getUser().get(1), secondPage.getUser().get(0)))
+                .extracting("email")
+                .containsExactly("cursor1@test.com", "cursor2@test.com", "cursor3@test.com");
+    }
+
+    @Test
+    void getCreatedUsersLastDayAfterCursorSkipsOldUsersTest() {
+        UserEntity oldUser = new UserEntity();
+        oldUser.setFirstName("Old");
+        oldUser.setLastName("User");
+        oldUser.setEmail("old@test.com");
+        oldUser.setPassword(passwordEncoder.encode("password"));
+        oldUser.setActive(true);
+        oldUser.setCreatedAt(LocalDateTime.now().minusDays(2));
+        repository.save(oldUser);
+        userAdministrationService.createNewUser(createUserRequest("recent@test.com"));
+
+        GetUsersCursorResponse response = userAdministrationService.getCreatedUsersLastDayAfter(
+                new CursorUtil.Cursor(oldUser.getCreatedAt(), oldUser.getId()), 10, UserField.ALL);
+
+        assertEquals(1, response.getUser().size());
+        assertEquals("recent@test.com", response.getUser().getFirst().getEmail());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void authenticateTest() {
+        UserResponse created = userAdministrationService.createNewUser(createUserRequest("auth@test.com"));
+
+        UserResponse response = userAdministrationService.authenticate(new AuthenticateRequest("auth@test.com", "SecurePass123!"));
+
+        assertEquals(created.getUser().getId(), response.getUser().getId());
+        assertEquals("auth@test.com", response.getUser().getEmail());
+    }
+
+    @Test
+    void authenticateIgnoresEmailCaseTest() {
+        UserResponse created = userAdministrationService.createNewUser(createUserRequest("auth@test.com"));
+
+        UserResponse response = userAdministrationService.authenticate(new AuthenticateRequest("Auth@Test.com", "SecurePass123!"));
+
+        assertEquals(created.getUser().getId(), response.getUser().getId());
+    }
+
+    @Test
+    void authenticateRejectsWrongPasswordUnknownEmailAndInactiveUserTest() {
+        UserResponse created = userAdministrationService.createNewUser(createUserRequest("auth@test.com"));
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userAdministrationService.authenticate(new AuthenticateRequest("auth@test.com", "WrongPass123!")));
+        assertThrows(InvalidCredentialsException.class,
+                () -> userAdministrationService.authenticate(new AuthenticateRequest("unknown@test.com", "SecurePass123!")));
+
+        userAdministrationService.deactivateUser(created.getUser().getId());
+        assertThrows(InvalidCredentialsException.class,
+                () -> userAdministrationService.authenticate(new AuthenticateRequest("auth@test.com", "SecurePass123!")));
+    }
+
+    @Test
+    void authenticateRehashesPasswordAtCurrentStrengthTest() {
+        int strength = ((CalibratedPasswordEncoder) passwordEncoder).getStrength();
+        UserEntity user = new UserEntity();
+        user.setFirstName("Old");
+        user.setLastName("Hash");
+        user.setEmail("old.hash@test.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("SecurePass123!"));
+        user.setActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        repository.save(user);
+
+        userAdministrationService.authenticate(new AuthenticateRequest("old.hash@test.com", "SecurePass123!"));
+
+        String rehashed = repository.findById(user.getId()).orElseThrow().getPassword();
+        assertEquals(strength, CalibratedPasswordEncoder.strengthOf(rehashed));
+        assertTrue(passwordEncoder.matches("SecurePass123!", rehashed));
+
+        userAdministrationService.authenticate(new AuthenticateRequest("old.hash@test.com", "SecurePass123!"));
+
+        assertEquals(rehashed, repository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
     @Test
     void fullUserLifecycleTest() {
         CreateNewUserRequest request = createUserRequest("lifecycle@test.com");
         UserResponse created = userAdministrationService.createNewUser(request);
         Long userId = created.getUser().getId();
 
-        GetUsersResponse allUsers1 = userAdministrationService.getAllUsers(0, 10);
+        GetUsersResponse allUsers1 = userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
         assertEquals(1, allUsers1.getUser().size());
         assertTrue(allUsers1.getUser().getFirst().getActive());
 
         userAdministrationService.deactivateUser(userId);
 
-        GetUsersResponse allUsers2 = userAdministrationService.getAllUsers(0, 10);
+        GetUsersResponse allUsers2 = userAdministrationService.getAllUsers(0, 10, true, UserField.ALL);
         assertEquals(1, allUsers2.getUser().size());
         assertFalse(allUsers2.getUser().getFirst().getActive());
     }
@@ -0,0 +1,129 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.exceptions.UserNotFoundException;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.responses.UserResponse;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+
+import static com.example.userAdministrationApplication.configurations.UserAdministrationConfiguration.USERS_CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs without a surrounding test transaction, because the cache applies puts and evictions only after commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1")
+public class UserCacheTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @MockitoSpyBean
+    private UserAdministrationRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        cacheManager.getCache(USERS_CACHE).clear();
+        clearInvocations(repository);
+    }
+
+    private Long createUser(String email) {
+        return userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", email, "SecurePass123!"))
+                .getUser()
+                .getId();
+    }
+
+    @Test
+    void getUserIsServedFromCacheAfterCreateTest() {
+        Long userId = createUser("cached@test.com");
+
+        UserResponse first = userAdministrationService.getUser(userId);
+        UserResponse second = userAdministrationService.getUser(userId);
+
+        assertEquals("cached@test.com", first.getUser().getEmail());
+        assertSame(first, second);
+        verify(repository, never()).findById(userId);
+    }
+
+    @Test
+    void getUserLoadsOnceOnMissTest() {
+        Long userId = createUser("miss@test.com");
+        cacheManager.getCache(USERS_CACHE).evict(userId);
+
+        userAdministrationService.getUser(userId);
+        userAdministrationService.getUser(userId);
+
+        verify(repository, times(1)).findById(userId);
+    }
+
+    @Test
+    void getUserAfterDeactivateReturnsInactiveUserTest() {
+        Long userId = createUser("deactivate@test.com");
+        assertTrue(userAdministrationService.getUser(userId).getUser().getActive());
+
+        userAdministrationService.deactivateUser(userId);
+
+        assertFalse(userAdministrationService.getUser(userId).getUser().getActive());
+    }
+
+    @Test
+    void getUserAfterDeleteThrowsNotFoundTest() {
+        Long userId = createUser("delete@test.com");
+        userAdministrationService.getUser(userId);
+
+        userAdministrationService.deleteUser(userId);
+
+        assertThrows(UserNotFoundException.class, () -> userAdministrationService.getUser(userId));
+    }
+
+    @Test
+    void bulkOperationsEvictOnlyAffectedUsersTest() {
+        Long deactivatedId = createUser("bulk.deactivate@test.com");
+        Long deletedId = createUser("bulk.delete@test.com");
+        Long untouchedId = createUser("untouched@test.com");
+
+        userAdministrationService.deactivateUsers(List.of(deactivatedId));
+        userAdministrationService.deleteUsers(List.of(deletedId));
+
+        assertFalse(userAdministrationService.getUser(deactivatedId).getUser().getActive());
+        assertThrows(UserNotFoundException.class, () -> userAdministrationService.getUser(deletedId));
+        assertNotNull(cacheManager.getCache(USERS_CACHE).get(untouchedId));
+    }
+
+    @Test
+    void missingUserIsNotCachedTest() {
+        assertThrows(UserNotFoundException.class, () -> userAdministrationService.getUser(999_999L));
+        assertThrows(UserNotFoundException.class, () -> userAdministrationService.getUser(999_999L));
+
+        verify(repository, times(2)).findById(999_999L);
+    }
+
+    @Test
+    void cacheStatisticsArePublishedTest() {
+        Long userId = createUser("stats@test.com");
+        cacheManager.getCache(USERS_CACHE).evict(userId);
+        userAdministrationService.getUser(userId);
+        userAdministrationService.getUser(userId);
+
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", USERS_CACHE).tag("result", "hit").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", USERS_CACHE).tag("result", "miss").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("cache.load").tag("cache", USERS_CACHE).tag("result", "success").functionCounter().count() >= 1);
+        assertTrue(meterRegistry.get("cache.load.duration").tag("cache", USERS_CACHE).timeGauge().value() > 0);
+        assertNotNull(meterRegistry.get("cache.evictions").tag("cache", USERS_CACHE).functionCounter());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserField;
+import com.example.userAdministrationApplication.modules.dtos.responses.GetUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs without a surrounding test transaction, because the counters apply changes only after commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:counters;DB_CLOSE_DELAY=-1")
+public class UserCountersServiceTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserCountersService userCountersService;
+
+    @Autowired
+    private RecentUsersService recentUsersService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private UserAdministrationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userCountersService.reconcile();
+        recentUsersService.rebuild();
+        clearInvocations(repository);
+    }
+
+    private Long createUser(String email) {
+        return userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", email, "SecurePass123!"))
+                .getUser()
+                .getId();
+    }
+
+    @Test
+    void countersFollowCreateDeactivateAndDeleteTest() {
+        Long deactivatedId = createUser("deactivated@test.com");
+        Long deletedId = createUser("deleted@test.com");
+        Long bulkDeletedId = createUser("bulk.deleted@test.com");
+        createUser("kept@test.com");
+
+        userAdministrationService.deactivateUser(deactivatedId);
+        // Deactivating an inactive user changes nothing, so it must not be counted twice
+        userAdministrationService.deactivateUsers(List.of(deactivatedId));
+        userAdministrationService.deleteUser(deletedId);
+        userAdministrationService.deleteUsers(List.of(bulkDeletedId, deactivatedId));
+
+        assertEquals(1, userCountersService.getTotal());
+        assertEquals(1, userCountersService.getActive());
+        assertEquals(1, userCountersService.getCreatedSince(LocalDateTime.now().minusHours(1)));
+    }
+
+    @Test
+    void getAllUsersTakesTotalFromCountersTest() {
+        createUser("user1@test.com");
+        createUser("user2@test.com");
+        createUser("user3@test.com");
+
+        GetUsersResponse response = userAdministrationService.getAllUsers(0, 2, true, UserField.ALL);
+
+        assertEquals(3, response.getTotalCount());
+        assertEquals(2, response.getTotalPages());
+        assertTrue(response.isHasNext());
+        assertEquals(2, response.getUser().size());
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void getAllUsersWithoutTotalTest() {
+        createUser("user1@test.com");
+        createUser("user2@test.com");
+
+        GetUsersResponse firstPage = userAdministrationService.getAllUsers(0, 1, false, UserField.ALL);
+        GetUsersResponse lastPage = userAdministrationService.getAllUsers(1, 1, false, UserField.ALL);
+
+        assertNull(firstPage.getTotalCount());
+        assertNull(firstPage.getTotalPages());
+        assertTrue(firstPage.isHasNext());
+        assertFalse(lastPage.isHasNext());
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void getCreatedUsersLastDayTakesTotalFromCountersWhenTheWindowIsColdTest() {
+        createUser("user1@test.com");
+        createUser("user2@test.com");
+        createUser("user3@test.com");
+        recentUsersService.invalidate();
+
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 2, true, UserField.ALL);
+
+        assertEquals(3, response.getTotalCount());
+        assertEquals(2, response.getTotalPages());
+        assertEquals(2, response.getUser().size());
+        verify(repository).findUsers(any(), any(), any());
+        verify(repository, never()).countByCreatedAtAfter(any());
+    }
+
+    @Test
+    void getCreatedUsersLastDayWithoutTotalTest() {
+        createUser("recent@test.com");
+
+        GetUsersResponse response = userAdministrationService.getCreatedUsersLastDay(0, 10, false, UserField.ALL);
+
+        assertEquals(1, response.getUser().size());
+        assertNull(response.getTotalCount());
+        assertFalse(response.isHasNext());
+    }
+
+    @Test
+    void reconcileCorrectsWritesMadeOutsideTheServiceTest() {
+        createUser("service@test.com");
+        UserEntity user = new UserEntity();
+        user.setFirstName("Direct");
+        user.setLastName("Write");
+        user.setEmail("direct@test.com");
+        user.setPassword("hash");
+        user.setActive(false);
+        user.setCreatedAt(LocalDateTime.now());
+        repository.save(user);
+        assertEquals(1, userCountersService.getTotal());
+
+        userCountersService.reconcile();
+
+        assertEquals(2, userCountersService.getTotal());
+        assertEquals(1, userCountersService.getActive());
+        assertEquals(2, meterRegistry.get("users.total").gauge().value());
+        assertEquals(2, userCountersService.getCreatedSince(LocalDateTime.now().minusHours(1)));
+    }
+
+    @Test
+    void reconcileCountsCreationsPerHourTest() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int hoursAgo : new int[]{ 0, 0, 5, 30, 60 }) {
+            UserEntity user = new UserEntity();
+            user.setFirstName("Li");
+            user.setLastName("Alush");
+            user.setEmail("created" + hoursAgo + "." + System.nanoTime() + "@test.com");
+            user.setPassword("hash");
+            user.setActive(true);
+            user.setCreatedAt(now.minusHours(hoursAgo));
+            repository.save(user);
+        }
+
+        userCountersService.reconcile();
+
+        assertEquals(2, userCountersService.getCreatedSince(now.minusMinutes(1)));
+        assertEquals(3, userCountersService.getCreatedSince(now.minusHours(6)));
+        // Only the last two days are tracked
+        assertEquals(4, userCountersService.getCreatedSince(now.minusHours(72)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class UserExportServiceTests {
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserAdministrationRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", "export1@test.com", "SecurePass123!"));
+        userAdministrationService.createNewUser(new CreateNewUserRequest("Jane", "Dow, Jr.", "export2@test.com", "SecurePass123!"));
+    }
+
+    @Test
+    void exportUsersNdjsonTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = userExportService.exportUsers(output, UserFileFormat.NDJSON);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("export1@test.com", first.get("email").asText());
+        assertEquals("Li", first.get("firstName").asText());
+        assertTrue(first.get("active").asBoolean());
+        assertNotNull(first.get("createdAt"));
+        assertFalse(first.has("password"));
+        assertEquals("export2@test.com", objectMapper.readTree(lines[1]).get("email").asText());
+    }
+
+    @Test
+    void exportUsersCsvTest() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = userExportService.exportUsers(output, UserFileFormat.CSV);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(3, lines.length);
+        assertEquals("id,firstName,lastName,email,active,createdAt", lines[0]);
+        assertTrue(lines[1].contains(",Li,Alush,export1@test.com,true,"));
+        assertTrue(lines[2].contains(",Jane,\"Dow, Jr.\",export2@test.com,true,"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.exceptions.InvalidImportFileException;
+import com.example.userAdministrationApplication.modules.dtos.ImportErrorDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.modules.dtos.responses.ImportUsersResponse;
+import com.example.userAdministrationApplication.modules.entities.UserEntity;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "user-administration.import.batch-size=2")
+@Transactional
+public class UserImportServiceTests {
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserAdministrationRepository repository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importNdjsonUsersAcrossBatchesTest() {
+        String ndjson = """
+                {"firstName":"Li","lastName":"Alush","email":"user1@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"user2@test.com","password":"SecurePass123!"}
+
+                {"firstName":"Li","lastName":"Alush","email":"user3@test.com","password":"SecurePass123!"}
+                """;
+
+        ImportUsersResponse response = userImportService.importUsers(stream(ndjson), UserFileFormat.NDJSON);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(3, response.getImportedCount());
+        assertEquals(0, response.getFailedCount());
+        assertTrue(response.getErrors().isEmpty());
+        assertEquals(3, repository.count());
+
+        UserEntity saved = repository.findAll().stream()
+                .filter(user -> user.getEmail().equals("user3@test.com"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(saved.getActive());
+        assertNotNull(saved.getCreatedAt());
+        assertTrue(passwordEncoder.matches("SecurePass123!", saved.getPassword()));
+    }
+
+    @Test
+    void importNdjsonReportsRowErrorsWithoutAbortingTest() {
+        userAdministrationService.createNewUser(new CreateNewUserRequest("Li", "Alush", "exists@test.com", "SecurePass123!"));
+        String ndjson = """
+                {"firstName":"Li","lastName":"Alush","email":"ok1@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"weak@test.com","password":"weak"}
+                {"firstName":"Li",
+                {"firstName":"Li","lastName":"Alush","email":"exists@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"short@example.com","password":"Short1!"}
+                {"firstName":"Li","lastName":"Alush","email":"ok2@test.com","password":"SecurePass123!"}
+                {"firstName":"Li","lastName":"Alush","email":"ok2@test.com","password":"SecurePass123!"}
+                """;
+
+        ImportUsersResponse response = userImportService.importUsers(stream(ndjson), UserFileFormat.NDJSON);
+
+        assertEquals(7, response.getTotalRows());
+        assertEquals(2, response.getImportedCount());
+        assertEquals(5, response.getFailedCount());
+        assertThat(response.getErrors())
+                .extracting(ImportErrorDto::getRow)
+                .containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 7L);
+        assertThat(response.getErrors())
+                .filteredOn(error -> error.getRow() == 4L)
+                .extracting(ImportErrorDto::getMessage)
+                .containsExactly("User with email \"exists@test.com\" already exist");
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void importCsvUsersTest() {
+        String csv = """
+                email,firstName,lastName,password
+                csv1@test.com,Li,Alush,SecurePass123!
+                "csv2@test.com","Li, Jr.","Al""ush",SecurePass123!
+                csv3@test.com,Li
+                """;
+
+        ImportUsersResponse response = userImportService.importUsers(stream(csv), UserFileFormat.CSV);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(2, response.getImportedCount());
+        assertEquals(List.of(4L), response.getErrors().stream().map(ImportErrorDto::getRow).toList());
+        assertThat(repository.findAll())
+                .extracting("lastName")
+                .containsExactlyInAnyOrder("Alush", "Al\"ush");
+    }
+
+    @Test
+    void importCsvWithoutRequiredHeaderTest() {
+        assertThrows(InvalidImportFileException.class,
+                () -> userImportService.importUsers(stream("name,mail\nLi,li@test.com\n"), UserFileFormat.CSV));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.userAdministrationApplication.services;
+
+import com.example.userAdministrationApplication.configurations.SearchProperties;
+import com.example.userAdministrationApplication.exceptions.SearchUnavailableException;
+import com.example.userAdministrationApplication.modules.dtos.UserDto;
+import com.example.userAdministrationApplication.modules.dtos.requests.CreateNewUserRequest;
+import com.example.userAdministrationApplication.modules.dtos.requests.UserFileFormat;
+import com.example.userAdministrationApplication.repositories.UserAdministrationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs without a surrounding test transaction, because the index applies changes only after commit.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1")
+public class UserSearchServiceTests {
+    @Autowired
+    private UserAdministrationService userAdministrationService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserSearchService userSearchService;
+
+    @Autowired
+    private UserAdministrationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        userSearchService.rebuild();
+    }
+
+    private Long createUser(String firstName, String lastName, String email) {
+        return userAdministrationService.createNewUser(new CreateNewUserRequest(firstName, lastName, email, "SecurePass123!"))
+                .getUser()
+                .getId();
+    }
+
+    private List<String> searchEmails(String query, int limit) {
+        return userSearchService.search(query, limit).stream().map(UserDto::getEmail).toList();
+    }
+
+    @Test
+    void matchesPrefixesOfNamesAndEmailsTest() {
+        createUser("Li", "Alush", "li.alush@example.com");
+        createUser("Lior", "Ben-David", "lior@test.com");
+        createUser("Dana", "O'Neil", "dana+work@corp.com");
+
+        assertThat(searchEmails("li", 10)).containsExactly("li.alush@example.com", "lior@test.com");
+        assertThat(searchEmails("ALU", 10)).containsExactly("li.alush@example.com");
+        assertThat(searchEmails("david", 10)).containsExactly("lior@test.com");
+        assertThat(searchEmails("neil", 10)).containsExactly("dana+work@corp.com");
+        assertThat(searchEmails("work", 10)).containsExactly("dana+work@corp.com");
+        assertThat(searchEmails("dana+work@c", 10)).containsExactly("dana+work@corp.com");
+        assertThat(searchEmails("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void everyTermMustMatchTest() {
+        createUser("Li", "Alush", "li.alush@example.com");
+        createUser("Li", "Cohen", "li.cohen@example.com");
+
+        assertThat(searchEmails("li coh", 10)).containsExactly("li.cohen@example.com");
+        assertThat(searchEmails("  coh   li ", 10)).containsExactly("li.cohen@example.com");
+        assertThat(searchEmails("li levi", 10)).isEmpty();
+    }
+
+    @Test
+    void newestUsersComeFirstAndLimitIsAppliedTest() {
+        createUser("Li", "One", "one@example.com");
+        createUser("Li", "Two", "two@example.com");
+        createUser("Li", "Three", "three@example.com");
+
+        assertThat(searchEmails("li", 2)).containsExactly("three@example.com", "two@example.com");
+    }
+
+    @Test
+    void deactivateAndDeleteAreAppliedTest() {
+        Long deactivatedId = createUser("Li", "Deactivated", "deactivated@example.com");
+        Long deletedId = createUser("Li", "Deleted", "deleted@example.com");
+        Long bulkDeletedId = createUser("Li", "Bulk", "bulk@example.com");
+
+        userAdministrationService.deactivateUser(deactivatedId);
+        userAdministrationService.deleteUser(deletedId);
+        userAdministrationService.deleteUsers(List.of(bulkDeletedId));
+
+        List<UserDto> users = userSearchService.search("li", 10);
+        assertThat(users).extracting("email").containsExactly("deactivated@example.com");
+        assertFalse(users.getFirst().getActive());
+    }
+
+    @Test
+    void resultsAreCopiesTest() {
+        createUser("Li", "Alush", "li.alush@example.com");
+
+        userSearchService.search("li", 10).getFirst().setEmail(null);
+
+        assertThat(searchEmails("li", 10)).containsExactly("li.alush@example.com");
+    }
+
+    @Test
+    void importRebuildsIndexInBackgroundTest() throws InterruptedException {
+        createUser("Li", "Alush", "li.alush@example.com");
+        String ndjson = """
+                {"firstName":"Noa","lastName":"Imported","email":"noa@test.com","password":"SecurePass123!"}
+                """;
+
+        userImportService.importUsers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), UserFileFormat.NDJSON);
+
+        // The previous index keeps answering until the rebuild swaps in the new one
+        assertThat(searchEmails("li", 10)).containsExactly("li.alush@example.com");
+        for (int i = 0; i < 100 && searchEmails("noa", 10).isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(searchEmails("noa", 10)).containsExactly("noa@test.com");
+    }
+
+    @Test
+    void searchIsRejectedUntilTheIndexIsBuiltTest() {
+        UserSearchServiceImpl cold = new UserSearchServiceImpl(
+                repository, mock(PlatformTransactionManager.class), new SearchProperties());
+
+        assertFalse(cold.isReady());
+        assertThrows(SearchUnavailableException.class, () -> cold.search("li", 10));
+        assertTrue(userSearchService.isReady());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.userAdministrationApplication.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalibratedPasswordEncoderTests {
+    @Test
+    void strengthForDoublesUntilTargetTest() {
+        long tenMillis = Duration.ofMillis(10).toNanos();
+
+        assertEquals(10, CalibratedPasswordEncoder.strengthFor(Duration.ofMillis(15), tenMillis, 10, 14));
+        assertEquals(11, CalibratedPasswordEncoder.strengthFor(Duration.ofMillis(20), tenMillis, 10, 14));
+        assertEquals(12, CalibratedPasswordEncoder.strengthFor(Duration.ofMillis(79), tenMillis, 10, 14));
+        assertEquals(14, CalibratedPasswordEncoder.strengthFor(Duration.ofSeconds(10), tenMillis, 10, 14));
+    }
+
+    @Test
+    void strengthForNeverGoesBelowMinimumTest() {
+        assertEquals(10, CalibratedPasswordEncoder.strengthFor(Duration.ofMillis(1), Duration.ofMillis(500).toNanos(), 10, 14));
+    }
+
+    @Test
+    void strengthOfReadsCostFromHashTest() {
+        assertEquals(4, CalibratedPasswordEncoder.strengthOf(new BCryptPasswordEncoder(4).encode("Secret1!")));
+        assertEquals(-1, CalibratedPasswordEncoder.strengthOf("plain"));
+        assertEquals(-1, CalibratedPasswordEncoder.strengthOf(null));
+    }
+
+    @Test
+    void upgradeEncodingWhenStrengthDiffersInEitherDirectionTest() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("Secret1!")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("Secret1!")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Secret1!")));
+    }
+
+    @Test
+    void calibrateStaysWithinBoundsTest() {
+        CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(Duration.ofMillis(20), 4, 6);
+
+        assertTrue(encoder.getStrength() >= 4 && encoder.getStrength() <= 6);
+        assertTrue(encoder.matches("Secret1!", encoder.encode("Secret1!")));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.userAdministrationApplication.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DomainTrieTests {
+    @Test
+    void findsDomainAndSubdomainsTest() {
+        DomainTrie<String> trie = new DomainTrie<>();
+        trie.put("example.com", "example");
+
+        assertEquals("example", trie.findByEmail("li@example.com"));
+        assertEquals("example", trie.findByEmail("li@mail.example.com"));
+        assertEquals("example", trie.findByEmail("li@EXAMPLE.com"));
+    }
+
+    @Test
+    void matchesWholeLabelsOnlyTest() {
+        DomainTrie<String> trie = new DomainTrie<>();
+        trie.put("example.com", "example");
+
+        assertNull(trie.findByEmail("li@myexample.com"));
+        assertNull(trie.findByEmail("li@example.com.org"));
+        assertNull(trie.findByEmail("li@test.com"));
+        assertNull(trie.findByEmail(null));
+    }
+
+    @Test
+    void mostSpecificDomainWinsTest() {
+        DomainTrie<String> trie = new DomainTrie<>();
+        trie.put("example.com", "example");
+        trie.put("admin.example.com", "admin");
+
+        assertEquals("admin", trie.findByEmail("li@admin.example.com"));
+        assertEquals("admin", trie.findByEmail("li@eu.admin.example.com"));
+        assertEquals("example", trie.findByEmail("li@users.example.com"));
+    }
+}
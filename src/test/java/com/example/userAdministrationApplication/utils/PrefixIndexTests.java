@@ -0,0 +1,84 @@
+package com.example.userAdministrationApplication.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTests {
+    private List<Long> idsWithPrefix(PrefixIndex index, String prefix, int limit) {
+        List<Long> ids = new ArrayList<>();
+        index.forEachWithPrefix(prefix, id -> {
+            ids.add(id);
+            return ids.size() < limit;
+        });
+        return ids;
+    }
+
+    @Test
+    void exactTokenComesFirstThenAlphabeticalNewestFirstTest() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("lia", 1);
+        index.add("li", 2);
+        index.add("lin", 3);
+        index.add("li", 4);
+        index.add("alush", 5);
+
+        assertEquals(List.of(4L, 2L, 1L, 3L), idsWithPrefix(index, "li", 10));
+        assertEquals(List.of(5L), idsWithPrefix(index, "a", 10));
+        assertEquals(List.of(), idsWithPrefix(index, "lib", 10));
+    }
+
+    @Test
+    void stopsAtTheLimitTest() {
+        PrefixIndex index = new PrefixIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.add("li" + (id % 10), id);
+        }
+
+        assertEquals(3, idsWithPrefix(index, "li", 3).size());
+    }
+
+    @Test
+    void idsStaySortedAndUniqueTest() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("li", 5);
+        index.add("li", 1);
+        index.add("li", 3);
+        index.add("li", 3);
+
+        assertEquals(List.of(5L, 3L, 1L), idsWithPrefix(index, "li", 10));
+        assertEquals(1, index.getTokenCount());
+        assertEquals(3, index.getPostingCount());
+    }
+
+    @Test
+    void removeDropsEmptyTokensTest() {
+        PrefixIndex index = new PrefixIndex();
+        long empty = index.getEstimatedBytes();
+        index.add("li", 1);
+        index.add("li", 2);
+        index.add("alush", 2);
+        assertTrue(index.getEstimatedBytes() > empty);
+
+        index.remove("li", 1);
+        index.remove("li", 2);
+        index.remove("alush", 2);
+        index.remove("missing", 2);
+
+        assertEquals(List.of(), idsWithPrefix(index, "", 10));
+        assertEquals(0, index.getTokenCount());
+        assertEquals(0, index.getPostingCount());
+        assertEquals(empty, index.getEstimatedBytes());
+    }
+
+    @Test
+    void addReturnsTheStoredTokenTest() {
+        PrefixIndex index = new PrefixIndex();
+        String stored = index.add("li", 1);
+
+        assertSame(stored, index.add(new String("li"), 2));
+    }
+}